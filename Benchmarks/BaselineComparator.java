@@ -0,0 +1,278 @@
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares two JMH result files written with {@code -rf json}, benchmark by benchmark, and
+ * reports regressions: a score worse than the baseline by more than the tolerance, or more
+ * bytes allocated per operation ({@code gc.alloc.rate.norm}, from the GC profiler) than the
+ * baseline plus the tolerance. Scores in time-per-operation modes regress upwards and
+ * throughput scores downwards. Benchmarks are matched by name and parameters; ones missing
+ * from either file are listed but never fail the comparison.
+ *
+ * Needs nothing but the JDK, so it can also be run on its own:
+ * {@code java BaselineComparator baseline.json current.json [tolerance]}.
+ */
+public class BaselineComparator {
+
+    /** Allowed relative change before a benchmark counts as regressed. */
+    static final double DEFAULT_TOLERANCE = 0.10;
+
+    /** Allocation differences below this many bytes per operation are measurement noise. */
+    static final double ALLOCATION_SLACK_BYTES = 16;
+
+    private static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+
+    /**
+     * Compares two result files and exits with status 1 if anything regressed.
+     *
+     * @param args the baseline file, the current file and optionally the tolerance
+     * @throws IOException if a file cannot be read
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BaselineComparator <baseline.json> <current.json> [tolerance]");
+            System.exit(2);
+        }
+        double tolerance = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_TOLERANCE;
+        if (!compare(Path.of(args[0]), Path.of(args[1]), tolerance, System.out)) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Compares two result files and prints one line per benchmark.
+     *
+     * @param baseline the stored results
+     * @param current the new results
+     * @param tolerance the allowed relative change, such as 0.10
+     * @param out where the report is printed
+     * @return true if no benchmark regressed
+     * @throws IOException if a file cannot be read
+     * @throws IllegalArgumentException if a file is not a JMH JSON result file
+     */
+    public static boolean compare(Path baseline, Path current, double tolerance, PrintStream out) throws IOException {
+        Map<String, Score> before = read(baseline);
+        Map<String, Score> after = read(current);
+        boolean passed = true;
+        for (Map.Entry<String, Score> entry : after.entrySet()) {
+            Score now = entry.getValue();
+            Score then = before.get(entry.getKey());
+            if (then == null) {
+                out.printf("NEW        %s: %.3f %s%n", entry.getKey(), now.score, now.unit);
+                continue;
+            }
+
+            double change = (now.score - then.score) / then.score;
+            boolean slower = now.lowerIsBetter ? change > tolerance : change < -tolerance;
+            boolean allocates = now.allocated > then.allocated * (1 + tolerance) + ALLOCATION_SLACK_BYTES;
+            String status = slower ? "SLOWER" : allocates ? "ALLOCATES" : "ok";
+            passed &= !slower && !allocates;
+            out.printf("%-10s %s: %.3f -> %.3f %s (%+.1f%%), %.1f -> %.1f B/op%n", status, entry.getKey(),
+                    then.score, now.score, now.unit, change * 100, then.allocated, now.allocated);
+        }
+        for (String key : before.keySet()) {
+            if (!after.containsKey(key)) {
+                out.println("MISSING    " + key);
+            }
+        }
+        return passed;
+    }
+
+    /** The primary score and allocation rate of one benchmark. */
+    private record Score(double score, String unit, boolean lowerIsBetter, double allocated) {
+    }
+
+    /** Reads a result file into scores keyed by benchmark name and parameters. */
+    @SuppressWarnings("unchecked")
+    private static Map<String, Score> read(Path file) throws IOException {
+        Object root = new JsonReader(Files.readString(file, StandardCharsets.UTF_8)).readValue();
+        if (!(root instanceof List)) {
+            throw new IllegalArgumentException("Not a JMH JSON result file: " + file);
+        }
+        Map<String, Score> scores = new TreeMap<>();
+        for (Object item : (List<Object>) root) {
+            Map<String, Object> run = (Map<String, Object>) item;
+            String key = (String) run.get("benchmark");
+            Object params = run.get("params");
+            if (params instanceof Map) {
+                key += new TreeMap<>((Map<String, Object>) params);
+            }
+            String mode = (String) run.get("mode");
+            Map<String, Object> primary = (Map<String, Object>) run.get("primaryMetric");
+            double allocated = 0;
+            Object secondary = run.get("secondaryMetrics");
+            if (secondary instanceof Map) {
+                for (Map.Entry<String, Object> metric : ((Map<String, Object>) secondary).entrySet()) {
+                    // Older JMH versions prefix profiler metrics with a middle dot
+                    if (metric.getKey().replace("·", "").equals(ALLOCATION_METRIC)) {
+                        allocated = ((Number) ((Map<String, Object>) metric.getValue()).get("score")).doubleValue();
+                    }
+                }
+            }
+            scores.put(key, new Score(((Number) primary.get("score")).doubleValue(),
+                    (String) primary.get("scoreUnit"), !"thrpt".equals(mode), allocated));
+        }
+        return scores;
+    }
+
+    /**
+     * Minimal JSON reader for JMH result files: objects become maps, arrays lists, numbers
+     * doubles. JMH writes non-finite scores as the strings "NaN" and "Infinity", which are
+     * read as doubles too.
+     */
+    private static final class JsonReader {
+        private final String text;
+        private int pos;
+
+        JsonReader(String text) {
+            this.text = text;
+        }
+
+        Object readValue() {
+            skipWhitespace();
+            char c = peek();
+            switch (c) {
+                case '{':
+                    return readObject();
+                case '[':
+                    return readArray();
+                case '"':
+                    String s = readString();
+                    return switch (s) {
+                        case "NaN" -> Double.NaN;
+                        case "Infinity" -> Double.POSITIVE_INFINITY;
+                        case "-Infinity" -> Double.NEGATIVE_INFINITY;
+                        default -> s;
+                    };
+                case 't':
+                    expect("true");
+                    return Boolean.TRUE;
+                case 'f':
+                    expect("false");
+                    return Boolean.FALSE;
+                case 'n':
+                    expect("null");
+                    return null;
+                default:
+                    return readNumber();
+            }
+        }
+
+        private Map<String, Object> readObject() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            pos++; // {
+            skipWhitespace();
+            if (peek() == '}') {
+                pos++;
+                return map;
+            }
+            while (true) {
+                skipWhitespace();
+                String key = readString();
+                skipWhitespace();
+                expect(":");
+                map.put(key, readValue());
+                skipWhitespace();
+                if (peek() == ',') {
+                    pos++;
+                } else {
+                    expect("}");
+                    return map;
+                }
+            }
+        }
+
+        private List<Object> readArray() {
+            List<Object> list = new ArrayList<>();
+            pos++; // [
+            skipWhitespace();
+            if (peek() == ']') {
+                pos++;
+                return list;
+            }
+            while (true) {
+                list.add(readValue());
+                skipWhitespace();
+                if (peek() == ',') {
+                    pos++;
+                } else {
+                    expect("]");
+                    return list;
+                }
+            }
+        }
+
+        private String readString() {
+            expect("\"");
+            StringBuilder sb = new StringBuilder();
+            while (true) {
+                char c = next();
+                if (c == '"') {
+                    return sb.toString();
+                }
+                if (c != '\\') {
+                    sb.append(c);
+                    continue;
+                }
+                char escaped = next();
+                switch (escaped) {
+                    case 'n' -> sb.append('\n');
+                    case 't' -> sb.append('\t');
+                    case 'r' -> sb.append('\r');
+                    case 'b' -> sb.append('\b');
+                    case 'f' -> sb.append('\f');
+                    case 'u' -> {
+                        sb.append((char) Integer.parseInt(text.substring(pos, pos + 4), 16));
+                        pos += 4;
+                    }
+                    default -> sb.append(escaped);
+                }
+            }
+        }
+
+        private Double readNumber() {
+            int start = pos;
+            while (pos < text.length() && "+-.eE0123456789".indexOf(text.charAt(pos)) >= 0) {
+                pos++;
+            }
+            if (start == pos) {
+                throw new IllegalArgumentException("Unexpected character at " + pos + " in JSON");
+            }
+            return Double.parseDouble(text.substring(start, pos));
+        }
+
+        private void expect(String token) {
+            if (!text.startsWith(token, pos)) {
+                throw new IllegalArgumentException("Expected " + token + " at " + pos + " in JSON");
+            }
+            pos += token.length();
+        }
+
+        private char peek() {
+            if (pos >= text.length()) {
+                throw new IllegalArgumentException("Unexpected end of JSON");
+            }
+            return text.charAt(pos);
+        }
+
+        private char next() {
+            char c = peek();
+            pos++;
+            return c;
+        }
+
+        private void skipWhitespace() {
+            while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) {
+                pos++;
+            }
+        }
+    }
+}
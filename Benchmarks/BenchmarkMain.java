@@ -0,0 +1,64 @@
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs one of the JMH benchmark classes in this directory with the GC allocation profiler,
+ * writes the results as JSON and compares them with a stored baseline.
+ *
+ * The projects build separately and share class names, so each benchmark class is built
+ * together with its own project's sources, this class and {@link BaselineComparator}, with
+ * jmh-core on the classpath and jmh-generator-annprocess as the annotation processor. The
+ * three simulation projects also need the shared sources in Common:
+ * <pre>
+ * StatsLibraryBenchmark   StatsLibrary/StatsLibrary.java
+ * MontyHallBenchmark      Monty Hall Monte Carlo/*.java Common/*.java
+ * BirthdayBenchmark       Birthday Monte Carlo/*.java Common/*.java
+ * PokemonBenchmark        Pokemon/*.java Common/*.java
+ * </pre>
+ * Then run, for example, {@code java BenchmarkMain StatsLibraryBenchmark}. The first run saves
+ * its results as the baseline; later runs are compared with it and exit with status 1 if any
+ * benchmark got slower or started allocating more than the tolerance allows.
+ */
+public class BenchmarkMain {
+
+    /**
+     * Runs the benchmarks.
+     *
+     * @param args the benchmark class or regular expression to run, then optionally the
+     *        baseline file and the tolerance as a fraction (default 0.10)
+     * @throws Exception if the benchmarks cannot be run or the results cannot be read
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("Usage: BenchmarkMain <benchmark regex> [baseline.json] [tolerance]");
+            System.exit(2);
+        }
+        String include = args[0];
+        Path baseline = Path.of(args.length > 1 ? args[1] : include + "-baseline.json");
+        double tolerance = args.length > 2 ? Double.parseDouble(args[2]) : BaselineComparator.DEFAULT_TOLERANCE;
+        Path current = Path.of(include + "-current.json");
+
+        Options options = new OptionsBuilder()
+                .include(include)
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(current.toString())
+                .build();
+        new Runner(options).run();
+
+        if (!Files.exists(baseline)) {
+            Files.copy(current, baseline);
+            System.out.println("No baseline yet; saved these results as " + baseline);
+            return;
+        }
+        if (!BaselineComparator.compare(baseline, current, tolerance, System.out)) {
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmarks for the birthday simulation: a single trial, which is the kernel every
+ * estimate repeats, and a whole parallel estimate, each under every generator algorithm.
+ * Build with the Birthday Monte Carlo sources as described in {@link BenchmarkMain}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class BirthdayBenchmark {
+
+    /** One thread's stream and scratch arrays, as a simulation worker holds them. */
+    @State(Scope.Thread)
+    public static class Trial {
+        @Param({ "23", "60" })
+        int students;
+
+        @Param({ "SPLITTABLE", "XOSHIRO_256_PLUS_PLUS", "L64X128_MIX" })
+        RandomSource.Algorithm algorithm;
+
+        RandomSource rand;
+        long[] seen;
+        int[] drawn;
+
+        @Setup
+        public void setUp() {
+            rand = RandomSource.create(algorithm, 42);
+            seen = new long[(logic.DAYS_IN_YEAR + 63) >>> 6];
+            drawn = new int[students];
+        }
+    }
+
+    /** A seeded logic for whole estimates. */
+    @State(Scope.Benchmark)
+    public static class Estimate {
+        @Param({ "SPLITTABLE", "XOSHIRO_256_PLUS_PLUS", "L64X128_MIX" })
+        RandomSource.Algorithm algorithm;
+
+        logic birthdays;
+
+        @Setup
+        public void setUp() {
+            birthdays = new logic(algorithm, 42);
+        }
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public int trial(Trial t) {
+        return logic.firstRepeat(t.rand, t.seen, t.drawn, t.students, logic.DAYS_IN_YEAR);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public double probabilityOfSameBirthday(Estimate e) {
+        return e.birthdays.probabilityOfSameBirthday(23, 1_000_000);
+    }
+}
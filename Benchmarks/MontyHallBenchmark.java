@@ -0,0 +1,49 @@
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmark for {@link Game#playGame} under each generator algorithm and both
+ * strategies. Build with the Monty Hall Monte Carlo sources as described in
+ * {@link BenchmarkMain}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class MontyHallBenchmark {
+
+    @Param({ "1000", "1000000" })
+    int iterations;
+
+    @Param({ "true", "false" })
+    boolean switching;
+
+    @Param({ "SPLITTABLE", "XOSHIRO_256_PLUS_PLUS", "L64X128_MIX" })
+    RandomSource.Algorithm algorithm;
+
+    Game game;
+
+    @Setup
+    public void setUp() {
+        game = new Game(algorithm, 42);
+        game.setResultSink(ResultSink.NONE);
+    }
+
+    @Benchmark
+    public int playGame() {
+        return game.playGame(iterations, switching);
+    }
+}
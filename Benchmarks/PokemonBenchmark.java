@@ -0,0 +1,57 @@
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmarks for the opening-hand simulation: one hand, which is the kernel of every
+ * trial, and {@link CardGame#howManyReshufflesPerc} as a whole, each under every generator
+ * algorithm. Build with the Pokemon sources as described in {@link BenchmarkMain}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class PokemonBenchmark {
+
+    /** Deck composition and generator shared by both benchmarks. */
+    @State(Scope.Thread)
+    public static class Hands {
+        @Param({ "1", "10", "30" })
+        int pokemon;
+
+        @Param({ "SPLITTABLE", "XOSHIRO_256_PLUS_PLUS", "L64X128_MIX" })
+        RandomSource.Algorithm algorithm;
+
+        RandomSource rand;
+        CardGame game;
+
+        @Setup
+        public void setUp() {
+            rand = RandomSource.create(algorithm, 42);
+            game = new CardGame(algorithm, 42);
+            game.setEventSink(NoOpSink.INSTANCE);
+        }
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public boolean handHasPokemon(Hands d) {
+        return OpeningHandSimulator.handHasPokemon(d.pokemon, d.rand);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public double howManyReshufflesPerc(Hands d) {
+        return d.game.howManyReshufflesPerc(1_000_000, d.pokemon);
+    }
+}
@@ -0,0 +1,207 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmarks for every {@link StatsLibrary} method. The descriptive statistics run over
+ * lists and arrays of several sizes, each in its boxed ArrayList and primitive int[] form;
+ * the set operations, which are quadratic, run over smaller lists. Build with
+ * StatsLibrary/StatsLibrary.java as described in {@link BenchmarkMain}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class StatsLibraryBenchmark {
+
+    /** The same random values, in [0, 1000), as a boxed list and as a primitive array. */
+    @State(Scope.Benchmark)
+    public static class Values {
+        @Param({ "10", "1000", "100000" })
+        int size;
+
+        final StatsLibrary stats = new StatsLibrary();
+        ArrayList<Integer> boxed;
+        int[] primitive;
+
+        @Setup
+        public void setUp() {
+            SplittableRandom rand = new SplittableRandom(42);
+            boxed = new ArrayList<>(size);
+            primitive = new int[size];
+            for (int i = 0; i < size; i++) {
+                primitive[i] = rand.nextInt(1000);
+                boxed.add(primitive[i]);
+            }
+        }
+    }
+
+    /** A sample space 0..size-1 with the events "even" and "multiple of three". */
+    @State(Scope.Benchmark)
+    public static class Events {
+        @Param({ "10", "100", "1000" })
+        int size;
+
+        List<Integer> sampleSpace;
+        List<Integer> even;
+        List<Integer> multipleOfThree;
+
+        @Setup
+        public void setUp() {
+            sampleSpace = new ArrayList<>();
+            even = new ArrayList<>();
+            multipleOfThree = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                sampleSpace.add(i);
+                if (i % 2 == 0) {
+                    even.add(i);
+                }
+                if (i % 3 == 0) {
+                    multipleOfThree.add(i);
+                }
+            }
+        }
+    }
+
+    /** The array 1..n to permute; 10! lists need a few gigabytes of heap. */
+    @State(Scope.Benchmark)
+    public static class Permutations {
+        @Param({ "6", "7", "8", "9", "10" })
+        int n;
+
+        final StatsLibrary stats = new StatsLibrary();
+        int[] values;
+
+        @Setup
+        public void setUp() {
+            values = new int[n];
+            for (int i = 0; i < n; i++) {
+                values[i] = i + 1;
+            }
+        }
+    }
+
+    /** Large n for the factorial-based methods. */
+    @State(Scope.Benchmark)
+    public static class LargeN {
+        @Param({ "100", "1000", "5000" })
+        int n;
+
+        final StatsLibrary stats = new StatsLibrary();
+    }
+
+    @Benchmark
+    public double findMeanBoxed(Values v) {
+        return v.stats.findMean(v.boxed);
+    }
+
+    @Benchmark
+    public double findMeanPrimitive(Values v) {
+        return v.stats.findMean(v.primitive);
+    }
+
+    @Benchmark
+    public double findMedianBoxed(Values v) {
+        return v.stats.findMedian(v.boxed);
+    }
+
+    @Benchmark
+    public double findMedianPrimitive(Values v) {
+        return v.stats.findMedian(v.primitive);
+    }
+
+    @Benchmark
+    public int findModeBoxed(Values v) {
+        return v.stats.findMode(v.boxed);
+    }
+
+    @Benchmark
+    public int findModePrimitive(Values v) {
+        return v.stats.findMode(v.primitive);
+    }
+
+    @Benchmark
+    public double findVarianceBoxed(Values v) {
+        return v.stats.findVariance(v.boxed);
+    }
+
+    @Benchmark
+    public double findVariancePrimitive(Values v) {
+        return v.stats.findVariance(v.primitive);
+    }
+
+    @Benchmark
+    public double standardDeviationBoxed(Values v) {
+        return v.stats.standardDeviation(v.boxed);
+    }
+
+    @Benchmark
+    public double standardDeviationPrimitive(Values v) {
+        return v.stats.standardDeviation(v.primitive);
+    }
+
+    @Benchmark
+    @Fork(value = 2, jvmArgsAppend = "-Xmx4g")
+    public List<List<Integer>> findPermutations(Permutations p) {
+        return p.stats.findPermutations(p.values);
+    }
+
+    @Benchmark
+    public Object factorial(LargeN l) {
+        return StatsLibrary.factorial(l.n);
+    }
+
+    @Benchmark
+    public double combinationSolver(LargeN l) {
+        return l.stats.combinationSolver(l.n, l.n / 2);
+    }
+
+    @Benchmark
+    public double binDist(LargeN l) {
+        return l.stats.binDist(l.n, l.n / 2, 0.5);
+    }
+
+    @Benchmark
+    public double geometricDist(LargeN l) {
+        return l.stats.geometricDist(0.001, l.n);
+    }
+
+    @Benchmark
+    public List<Integer> union(Events e) {
+        return StatsLibrary.union(e.even, e.multipleOfThree);
+    }
+
+    @Benchmark
+    public List<Integer> intersection(Events e) {
+        return StatsLibrary.intersection(e.even, e.multipleOfThree);
+    }
+
+    @Benchmark
+    public List<Integer> difference(Events e) {
+        return StatsLibrary.difference(e.even, e.multipleOfThree);
+    }
+
+    @Benchmark
+    public double calculateProbability(Events e) {
+        return StatsLibrary.calculateProbability(e.sampleSpace, e.even);
+    }
+
+    @Benchmark
+    public double calculateConditionalProbability(Events e) {
+        return StatsLibrary.calculateConditionalProbability(e.sampleSpace, e.even, e.multipleOfThree);
+    }
+}
@@ -1,7 +1,21 @@
+import java.nio.file.Path;
+
 public class App {
     public static void main(String[] args) throws Exception {
         logic BirthdayDups = new logic();
-        BirthdayDups.probabilityOfSameBirthday(31, 10);
+        Simulation.Result sameBirthday = BirthdayDups.sameBirthday(31, 100000, logic.DAYS_IN_YEAR);
+        double[] ci = sameBirthday.confidenceInterval();
+        System.out.println("Probability of a shared birthday among 31 students: " + sameBirthday.mean() + " (95% CI " + ci[0] + " - " + ci[1] + ")");
+
+        double[] curve = BirthdayDups.collisionCurve(100000, logic.DAYS_IN_YEAR);
+        for (int n = 10; n <= 60; n += 10) {
+            System.out.println(n + " students: " + curve[n] + " (exact " + analytic.probabilityOfSameBirthday(n, logic.DAYS_IN_YEAR) + ")");
+        }
+
+        // Optional CSV of day weights, one day per line
+        aliasTable days = args.length > 0 ? aliasTable.fromCsv(Path.of(args[0])) : aliasTable.uniform(logic.DAYS_IN_YEAR);
+        System.out.println("Shared birthday among 31 students: " + BirthdayDups.probabilityOfSharedBirthday(2, 31, 100000, days));
+        System.out.println("Triple birthday among 31 students: " + BirthdayDups.probabilityOfSharedBirthday(3, 31, 100000, days));
 
     }
 }
@@ -0,0 +1,153 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Walker alias table for drawing birthdays from an arbitrary day-weight vector in O(1) per
+ * draw. The table is immutable once built, so a single instance can be shared by every
+ * simulation thread.
+ */
+public class aliasTable {
+    private final double[] prob;
+    private final int[] alias;
+
+    /**
+     * Builds an alias table from non-negative day weights using Vose's method.
+     *
+     * @param weights relative frequency of each day; they do not need to sum to 1
+     * @throws IllegalArgumentException if weights is empty, contains a negative or non-finite
+     *         value, or sums to zero
+     */
+    public aliasTable(double[] weights) {
+        int n = weights.length;
+        if (n == 0) {
+            throw new IllegalArgumentException("At least one day weight is required");
+        }
+        double total = 0.0;
+        for (double w : weights) {
+            if (!(w >= 0.0) || Double.isInfinite(w)) {
+                throw new IllegalArgumentException("Day weights must be finite and non-negative");
+            }
+            total += w;
+        }
+        if (total <= 0.0) {
+            throw new IllegalArgumentException("Day weights must not all be zero");
+        }
+
+        prob = new double[n];
+        alias = new int[n];
+        double[] scaled = new double[n];
+        int[] small = new int[n];
+        int[] large = new int[n];
+        int smallSize = 0;
+        int largeSize = 0;
+        for (int i = 0; i < n; i++) {
+            scaled[i] = weights[i] * n / total;
+            if (scaled[i] < 1.0) {
+                small[smallSize++] = i;
+            } else {
+                large[largeSize++] = i;
+            }
+        }
+
+        while (smallSize > 0 && largeSize > 0) {
+            int s = small[--smallSize];
+            int l = large[--largeSize];
+            prob[s] = scaled[s];
+            alias[s] = l;
+            scaled[l] = (scaled[l] + scaled[s]) - 1.0;
+            if (scaled[l] < 1.0) {
+                small[smallSize++] = l;
+            } else {
+                large[largeSize++] = l;
+            }
+        }
+        // Whatever is left is 1 up to rounding error
+        while (largeSize > 0) {
+            int l = large[--largeSize];
+            prob[l] = 1.0;
+            alias[l] = l;
+        }
+        while (smallSize > 0) {
+            int s = small[--smallSize];
+            prob[s] = 1.0;
+            alias[s] = s;
+        }
+    }
+
+    /**
+     * Returns a table where every one of the given number of days is equally likely.
+     *
+     * @param days number of days
+     * @return a uniform alias table
+     */
+    public static aliasTable uniform(int days) {
+        double[] weights = new double[days];
+        Arrays.fill(weights, 1.0);
+        return new aliasTable(weights);
+    }
+
+    /**
+     * Loads day weights from a CSV file with one day per line. The weight is taken from the
+     * last comma-separated field, so both "weight" and "day,weight" layouts work. Blank lines,
+     * lines starting with '#' and a non-numeric header line are skipped.
+     *
+     * @param file CSV file of day weights
+     * @return an alias table over the days in file order
+     * @throws IOException if the file cannot be read
+     * @throws IllegalArgumentException if a weight cannot be parsed or the weights are invalid
+     */
+    public static aliasTable fromCsv(Path file) throws IOException {
+        double[] weights = new double[366];
+        int days = 0;
+        int lineNumber = 0;
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String field = line.substring(line.lastIndexOf(',') + 1).trim();
+                double weight;
+                try {
+                    weight = Double.parseDouble(field);
+                } catch (NumberFormatException e) {
+                    if (days == 0) {
+                        continue;  // header
+                    }
+                    throw new IllegalArgumentException("Invalid day weight on line " + lineNumber + ": " + field);
+                }
+                if (days == weights.length) {
+                    weights = Arrays.copyOf(weights, days * 2);
+                }
+                weights[days++] = weight;
+            }
+        }
+        return new aliasTable(Arrays.copyOf(weights, days));
+    }
+
+    /**
+     * Returns the number of days in the table.
+     *
+     * @return number of days
+     */
+    public int days() {
+        return prob.length;
+    }
+
+    /**
+     * Draws a day with one bounded int and one double from rand.
+     *
+     * @param rand the calling thread's random stream
+     * @return a day index in [0, days())
+     */
+    public int sample(RandomSource rand) {
+        int i = rand.nextInt(prob.length);
+        return rand.nextDouble() < prob[i] ? i : alias[i];
+    }
+}
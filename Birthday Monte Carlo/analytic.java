@@ -0,0 +1,183 @@
+/**
+ * Closed-form birthday probabilities for n people and any number of equally likely days.
+ * Everything is computed from log P(no shared birthday) so that very large day counts,
+ * such as hash or ID spaces with millions of values, neither underflow nor lose precision.
+ */
+public class analytic {
+    /** Group sizes up to this are summed term by term; larger ones use Euler–Maclaurin. */
+    static final long EXACT_SUM_LIMIT = 1024;
+
+    private analytic() {
+    }
+
+    /**
+     * Exact probability that at least two of n people share a birthday.
+     *
+     * @param n number of people
+     * @param days number of equally likely birthdays
+     * @return P(at least one shared birthday)
+     * @throws IllegalArgumentException if n is negative or days is not positive
+     */
+    public static double probabilityOfSameBirthday(long n, long days) {
+        return -Math.expm1(logProbabilityAllDistinct(n, days));
+    }
+
+    /**
+     * Natural log of the probability that n people all have different birthdays,
+     * log prod_{k=1}^{n-1} (1 - k/days). Small groups are summed with log1p; larger groups use
+     * the Euler–Maclaurin expansion of the same sum, which is constant time and accurate to
+     * double precision once n exceeds EXACT_SUM_LIMIT.
+     *
+     * @param n number of people
+     * @param days number of equally likely birthdays
+     * @return log P(all birthdays distinct), or negative infinity if n exceeds days
+     * @throws IllegalArgumentException if n is negative or days is not positive
+     */
+    public static double logProbabilityAllDistinct(long n, long days) {
+        if (n < 0 || days < 1) {
+            throw new IllegalArgumentException("n must be non-negative and days must be positive");
+        }
+        if (n > days) {
+            return Double.NEGATIVE_INFINITY;
+        }
+        if (n <= EXACT_SUM_LIMIT) {
+            double d = days;
+            double logP = 0.0;
+            for (long k = 1; k < n; k++) {
+                logP += Math.log1p(-k / d);
+            }
+            return logP;
+        }
+
+        // Sum of f(k) = log(1 - k/D) for k = 0..m, with f(0) = 0
+        double d = days;
+        double m = n - 1;
+        double rest = d - m;
+        double integral = d * integralTerm(m / d);
+        double endpoints = Math.log1p(-m / d) / 2.0;
+        double first = -m / (12.0 * d * rest);
+        double third = (1.0 / (rest * rest * rest) - 1.0 / (d * d * d)) / 360.0;
+        double fifth = (1.0 / Math.pow(rest, 5) - 1.0 / Math.pow(d, 5)) / -1260.0;
+        return integral + endpoints + first + third + fifth;
+    }
+
+    /**
+     * Returns -x - (1 - x) log1p(-x), the integral of log(1 - t) over [0, x]. Both terms are
+     * close to x for small x, so there the series -sum_{k>=2} x^k / (k(k-1)) is used instead
+     * to avoid cancelling away most of the significant digits.
+     */
+    static double integralTerm(double x) {
+        if (x >= 0.25) {
+            return -x - (1.0 - x) * Math.log1p(-x);
+        }
+        double sum = 0.0;
+        double power = x;
+        for (int k = 2; k < 200; k++) {
+            power *= x;
+            double term = power / ((double) k * (k - 1));
+            sum += term;
+            if (term < sum * 1e-17) {
+                break;
+            }
+        }
+        return -sum;
+    }
+
+    /**
+     * Fills a table of exact probabilities for every group size from 0 to maxN in a single
+     * O(maxN) pass, adding one log1p term per person.
+     *
+     * @param maxN largest group size in the table
+     * @param days number of equally likely birthdays
+     * @return array where entry n is P(at least one shared birthday among n people)
+     * @throws IllegalArgumentException if maxN is negative or days is not positive
+     */
+    public static double[] probabilityTable(int maxN, long days) {
+        if (maxN < 0 || days < 1) {
+            throw new IllegalArgumentException("maxN must be non-negative and days must be positive");
+        }
+
+        double[] table = new double[maxN + 1];
+        double d = days;
+        double logP = 0.0;
+        for (int n = 1; n <= maxN; n++) {
+            if (n > days) {
+                table[n] = 1.0;
+                continue;
+            }
+            logP += Math.log1p(-(n - 1) / d);
+            table[n] = -Math.expm1(logP);
+        }
+        return table;
+    }
+
+    /**
+     * Poisson approximation 1 - exp(-n(n-1) / 2D), treating each of the n(n-1)/2 pairs as an
+     * independent chance of 1/D to match.
+     *
+     * @param n number of people
+     * @param days number of equally likely birthdays
+     * @return approximate P(at least one shared birthday)
+     */
+    public static double poissonApproximation(long n, long days) {
+        double pairs = (double) n * (n - 1) / 2.0;
+        return -Math.expm1(-pairs / days);
+    }
+
+    /**
+     * Second-order Taylor approximation, keeping the k^2/2D^2 term of each log1p(-k/D) as well
+     * as the linear term used by the Poisson approximation.
+     *
+     * @param n number of people
+     * @param days number of equally likely birthdays
+     * @return approximate P(at least one shared birthday)
+     */
+    public static double taylorApproximation(long n, long days) {
+        double nn = n;
+        double d = days;
+        double linear = nn * (nn - 1) / (2.0 * d);
+        double quadratic = (nn - 1) * nn * (2 * nn - 1) / (12.0 * d * d);
+        return -Math.expm1(-(linear + quadratic));
+    }
+
+    /**
+     * Finds the smallest group size whose probability of a shared birthday is at least q,
+     * by binary search over the exact probability.
+     *
+     * @param q target probability, in (0, 1]
+     * @param days number of equally likely birthdays
+     * @return smallest n with P(at least one shared birthday among n) >= q; for q = 1 this is
+     *         days + 1, since any smaller group can still have all birthdays distinct
+     * @throws IllegalArgumentException if q is outside (0, 1], days is not positive, or q is 1
+     *         and days is Long.MAX_VALUE, whose answer does not fit in a long
+     */
+    public static long smallestGroupSize(double q, long days) {
+        if (!(q > 0.0 && q <= 1.0)) {
+            throw new IllegalArgumentException("q must be in (0, 1]");
+        }
+        if (days < 1) {
+            throw new IllegalArgumentException("days must be positive");
+        }
+        if (q == 1.0) {
+            // The exact probability rounds to 1 long before it is 1, so search cannot find this
+            if (days == Long.MAX_VALUE) {
+                throw new IllegalArgumentException("No group size up to Long.MAX_VALUE is certain to share a birthday");
+            }
+            return days + 1;
+        }
+
+        // P(days + 1) is 1 by the pigeonhole principle, so hi always satisfies the target;
+        // days + 1 would overflow for Long.MAX_VALUE, where P(days) already rounds to 1
+        long lo = 1;
+        long hi = days == Long.MAX_VALUE ? days : days + 1;
+        while (lo < hi) {
+            long mid = lo + (hi - lo) / 2;
+            if (probabilityOfSameBirthday(mid, days) >= q) {
+                hi = mid;
+            } else {
+                lo = mid + 1;
+            }
+        }
+        return lo;
+    }
+}
@@ -1,24 +1,276 @@
-import java.util.ArrayList;
-import java.util.Random;
+import java.util.stream.IntStream;
 
 public class logic {
-    public double probabilityOfSameBirthday(int studentsAmt, int iterations){
-        Random rand = new Random();
-        int count = 0;
-        ArrayList<Integer> studentArr = new ArrayList<>();
-        for(int i = 0;i<=studentsAmt;i++){
-            studentArr.add(rand.nextInt(1,365));
-        }
-        for(int j = 0;j<studentsAmt;j++){
-            for(int k = j+1;k<studentsAmt;k++){
-                if(studentArr.get(j).equals(studentArr.get(k))){
-                    count++;
-                    break;
-                }
-            }
+    public static final int DAYS_IN_YEAR = 365;
+
+    private final RandomSource rand;
+    private final RandomSource.Algorithm algorithm;
+
+    public logic() {
+        this(RandomSource.DEFAULT_ALGORITHM, RandomSource.create().nextLong());
+    }
+
+    public logic(long seed) {
+        this(RandomSource.DEFAULT_ALGORITHM, seed);
+    }
+
+    /**
+     * Creates a logic whose trials draw from the given generator algorithm.
+     *
+     * @param algorithm generator algorithm for every stream of this instance
+     * @param seed seed of this instance's stream
+     */
+    public logic(RandomSource.Algorithm algorithm, long seed) {
+        this.rand = RandomSource.create(algorithm, seed);
+        this.algorithm = algorithm;
+    }
+
+    /**
+     * Estimates the probability that at least two of studentsAmt students share a birthday,
+     * with birthdays uniform over a 365 day year.
+     *
+     * @param studentsAmt number of students in the room
+     * @param iterations number of simulated rooms
+     * @return fraction of simulated rooms with a shared birthday
+     */
+    public double probabilityOfSameBirthday(int studentsAmt, int iterations) {
+        return probabilityOfSameBirthday(studentsAmt, iterations, DAYS_IN_YEAR);
+    }
+
+    /**
+     * Estimates the probability that at least two of studentsAmt people share a birthday when
+     * birthdays are uniform over the given number of days. Trials run in parallel on the
+     * shared {@link Simulation} runner, seeded from this instance's stream, so a seeded logic
+     * gives the same answer on every run.
+     *
+     * @param studentsAmt number of people in each trial
+     * @param iterations number of trials
+     * @param days number of equally likely birthdays
+     * @return fraction of trials with a shared birthday
+     * @throws IllegalArgumentException if any argument is not positive
+     */
+    public double probabilityOfSameBirthday(int studentsAmt, int iterations, int days) {
+        return sameBirthday(studentsAmt, iterations, days).mean();
+    }
+
+    /**
+     * Runs the trials behind {@link #probabilityOfSameBirthday(int, int, int)} and returns
+     * them with their 95% confidence interval. Each worker thread reuses one bitset of seen
+     * days for all of its trials.
+     *
+     * @param studentsAmt number of people in each trial
+     * @param iterations number of trials
+     * @param days number of equally likely birthdays
+     * @return the number of trials and of trials with a shared birthday
+     * @throws IllegalArgumentException if any argument is not positive
+     */
+    public Simulation.Result sameBirthday(int studentsAmt, long iterations, int days) {
+        if (studentsAmt < 1 || iterations < 1 || days < 1) {
+            throw new IllegalArgumentException("studentsAmt, iterations and days must be positive");
         }
+        return sameBirthdaySimulation(studentsAmt, days).run(iterations);
+    }
 
-        return count;
+    /**
+     * Returns the simulation behind {@link #sameBirthday}, seeded from this instance's stream
+     * but not yet run, so a caller can attach a progress listener or cancel it from another
+     * thread.
+     *
+     * @param studentsAmt number of people in each trial
+     * @param days number of equally likely birthdays
+     * @return the configured simulation
+     * @throws IllegalArgumentException if studentsAmt or days is not positive
+     */
+    public Simulation<?> sameBirthdaySimulation(int studentsAmt, int days) {
+        if (studentsAmt < 1 || days < 1) {
+            throw new IllegalArgumentException("studentsAmt and days must be positive");
+        }
+
+        Simulation<Scratch> simulation = new Simulation<>(
+                (scratch, stream) -> firstRepeat(stream, scratch.seen(), scratch.drawn(), studentsAmt, days) != 0 ? 1 : 0,
+                () -> new Scratch(new long[(days + 63) >>> 6], new int[Math.min(studentsAmt, days)], null));
+        return simulation.name("birthday").algorithm(algorithm).seed(rand.nextLong());
+    }
+
+    /**
+     * Estimates the probability that some birthday is shared by at least k of studentsAmt
+     * people when birthdays follow the distribution in days. k = 2 is the usual collision
+     * probability and k = 3 the triple coincidence. Trials run on the shared
+     * {@link Simulation} runner as in the uniform case, with the alias table shared read-only
+     * by every thread.
+     *
+     * @param k how many people must share a day
+     * @param studentsAmt number of people in each trial
+     * @param iterations number of trials
+     * @param days birthday distribution
+     * @return fraction of trials in which some day was shared by at least k people
+     * @throws IllegalArgumentException if k is less than 2 or studentsAmt or iterations is not positive
+     */
+    public double probabilityOfSharedBirthday(int k, int studentsAmt, int iterations, aliasTable days) {
+        if (iterations < 1) {
+            throw new IllegalArgumentException("iterations must be positive");
+        }
+        return sharedBirthdaySimulation(k, studentsAmt, days).run(iterations).mean();
+    }
+
+    /**
+     * Returns the simulation behind {@link #probabilityOfSharedBirthday}, seeded from this
+     * instance's stream but not yet run, so a caller can attach a progress listener or cancel
+     * it from another thread.
+     *
+     * @param k how many people must share a day
+     * @param studentsAmt number of people in each trial
+     * @param days birthday distribution
+     * @return the configured simulation
+     * @throws IllegalArgumentException if k is less than 2 or studentsAmt is not positive
+     */
+    public Simulation<?> sharedBirthdaySimulation(int k, int studentsAmt, aliasTable days) {
+        if (k < 2) {
+            throw new IllegalArgumentException("k must be at least 2");
+        }
+        if (studentsAmt < 1) {
+            throw new IllegalArgumentException("studentsAmt must be positive");
+        }
+
+        Simulation<Scratch> simulation = new Simulation<>(
+                (scratch, stream) -> coincidence(stream, k, studentsAmt, scratch.counts(), scratch.drawn(), days) ? 1 : 0,
+                () -> new Scratch(null, new int[studentsAmt], new int[days.days()]));
+        return simulation.name("sharedBirthday").algorithm(algorithm).seed(rand.nextLong());
+    }
+
+    /**
+     * Per-thread scratch arrays of one simulation; each kind of trial uses the ones it needs.
+     * Trials clear whatever they set, so the arrays are reused from one trial to the next.
+     */
+    private record Scratch(long[] seen, int[] drawn, int[] counts) {
+    }
 
+    /** Splits one stream per shard from this instance's stream, in shard order. */
+    private RandomSource[] splitStreams(int iterations) {
+        int shards = Math.min(iterations, Runtime.getRuntime().availableProcessors());
+        RandomSource[] streams = new RandomSource[shards];
+        for (int s = 0; s < shards; s++) {
+            streams[s] = rand.split();
+        }
+        return streams;
+    }
+
+    /** Number of trials given to shard s when iterations are spread as evenly as possible. */
+    static int shardSize(int iterations, int shards, int s) {
+        return iterations / shards + (s < iterations % shards ? 1 : 0);
+    }
+
+    /**
+     * Estimates P(shared birthday among n people) for every n from 0 to days + 1 with a single
+     * set of trials. Each trial adds people until the first repeated birthday and records how
+     * many people that took; the empirical CDF of that index is the collision curve.
+     *
+     * @param iterations number of trials
+     * @param days number of equally likely birthdays
+     * @return array where entry n is the estimated probability of a shared birthday among n people
+     * @throws IllegalArgumentException if iterations or days is not positive
+     */
+    public double[] collisionCurve(int iterations, int days) {
+        long[] histogram = firstCollisionHistogram(iterations, days);
+        double[] curve = new double[histogram.length];
+        long cumulative = 0;
+        for (int n = 0; n < histogram.length; n++) {
+            cumulative += histogram[n];
+            curve[n] = (double) cumulative / iterations;
+        }
+        return curve;
+    }
+
+    /**
+     * Counts, over iterations trials, how often the first repeated birthday happened when the
+     * n-th person arrived. Each shard fills its own histogram and the shards are summed
+     * afterwards, so no counter is shared between threads.
+     *
+     * @param iterations number of trials
+     * @param days number of equally likely birthdays
+     * @return histogram of length days + 2 where entry n counts trials whose first repeat was person n
+     * @throws IllegalArgumentException if iterations or days is not positive
+     */
+    public long[] firstCollisionHistogram(int iterations, int days) {
+        if (iterations < 1 || days < 1) {
+            throw new IllegalArgumentException("iterations and days must be positive");
+        }
+
+        RandomSource[] streams = splitStreams(iterations);
+        int shards = streams.length;
+        return IntStream.range(0, shards).parallel()
+                .mapToObj(s -> fillHistogram(streams[s], shardSize(iterations, shards, s), days))
+                .reduce(logic::addHistograms)
+                .orElseThrow();
+    }
+
+    /** Element-wise sum of two histograms of equal length, accumulated into the first. */
+    static long[] addHistograms(long[] into, long[] from) {
+        for (int n = 0; n < into.length; n++) {
+            into[n] += from[n];
+        }
+        return into;
+    }
+
+    /**
+     * Runs trials on a single thread, recording the first-collision index of each one.
+     */
+    static long[] fillHistogram(RandomSource rand, int trials, int days) {
+        long[] histogram = new long[days + 2];
+        long[] seen = new long[(days + 63) >>> 6];
+        int[] drawn = new int[days];
+        for (int t = 0; t < trials; t++) {
+            histogram[firstRepeat(rand, seen, drawn, days + 1, days)]++;
+        }
+        return histogram;
+    }
+
+    /**
+     * Draws birthdays until some day reaches k people or studentsAmt people have been drawn.
+     * Only the drawn days' counts are reset afterwards.
+     *
+     * @return whether some day was shared by at least k people
+     */
+    static boolean coincidence(RandomSource rand, int k, int studentsAmt, int[] counts, int[] drawn, aliasTable days) {
+        int filled = 0;
+        boolean hit = false;
+        while (filled < studentsAmt) {
+            int day = days.sample(rand);
+            drawn[filled++] = day;
+            if (++counts[day] >= k) {
+                hit = true;
+                break;
+            }
+        }
+        for (int i = 0; i < filled; i++) {
+            counts[drawn[i]] = 0;
+        }
+        return hit;
+    }
+
+    /**
+     * Draws birthdays until the first repeat or until limit people have been drawn.
+     * Only the bitset words that were set are cleared afterwards, so the reset costs
+     * O(people drawn) no matter how many days there are.
+     *
+     * @return the 1-based index of the person who repeated a birthday, or 0 if nobody did
+     */
+    static int firstRepeat(RandomSource rand, long[] seen, int[] drawn, int limit, int days) {
+        int repeatAt = 0;
+        int filled = 0;
+        while (filled < limit) {
+            int day = rand.nextInt(days);
+            long mask = 1L << day;
+            if ((seen[day >>> 6] & mask) != 0) {
+                repeatAt = filled + 1;
+                break;
+            }
+            seen[day >>> 6] |= mask;
+            drawn[filled++] = day;
+        }
+        for (int i = 0; i < filled; i++) {
+            seen[drawn[i] >>> 6] = 0L;
+        }
+        return repeatAt;
     }
 }
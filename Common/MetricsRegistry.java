@@ -0,0 +1,294 @@
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-process metrics for the simulation runners: named counters and latency histograms that
+ * can be written out as JSON on demand or on a schedule, together with the JVM's garbage
+ * collection totals.
+ *
+ * Recording is off by default. Runners check {@link #isEnabled()} once per run and record
+ * only per batch, never per trial, so a disabled registry costs one volatile read per run.
+ * Turn it on with {@link #setEnabled} or the system property {@code simulation.metrics=true}.
+ *
+ * The default registry can also be written out without any code: the system property
+ * {@code simulation.metrics.file} turns recording on and writes the registry to that file when
+ * the JVM exits, and {@code simulation.metrics.period}, in seconds, writes it on that schedule
+ * as well. For example,
+ * {@code java -Dsimulation.metrics.file=metrics.json -Dsimulation.metrics.period=5 Main}.
+ *
+ * Shared by the Birthday, Monty Hall and Pokemon projects from the Common directory, like
+ * {@link Simulation}.
+ */
+final class MetricsRegistry {
+
+    /** Runs every scheduled dump; its one daemon thread starts with the first schedule. */
+    private static final ScheduledExecutorService DUMPS = Executors.newSingleThreadScheduledExecutor(task -> {
+        Thread thread = new Thread(task, "metrics-dump");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /** The registry the simulation runners record to, configured from system properties. */
+    static final MetricsRegistry DEFAULT = fromSystemProperties();
+
+    private final Map<String, LongAdder> counters = new ConcurrentSkipListMap<>();
+    private final Map<String, Histogram> histograms = new ConcurrentSkipListMap<>();
+    private volatile boolean enabled;
+
+    /**
+     * Constructs an empty registry.
+     *
+     * @param enabled whether recording starts on
+     */
+    MetricsRegistry(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Returns whether runners should record to this registry.
+     *
+     * @return true if recording is on
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Turns recording on or off. Values recorded so far are kept.
+     *
+     * @param enabled whether runners should record
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Returns the counter with the given name, creating it at zero.
+     *
+     * @param name the counter's name
+     * @return the counter
+     */
+    public LongAdder counter(String name) {
+        return counters.computeIfAbsent(name, k -> new LongAdder());
+    }
+
+    /**
+     * Returns the histogram with the given name, creating it empty.
+     *
+     * @param name the histogram's name
+     * @return the histogram
+     */
+    public Histogram histogram(String name) {
+        return histograms.computeIfAbsent(name, k -> new Histogram());
+    }
+
+    /**
+     * Discards every counter and histogram.
+     */
+    public void clear() {
+        counters.clear();
+        histograms.clear();
+    }
+
+    /**
+     * Returns every counter, histogram and garbage collector total as a JSON object.
+     *
+     * @return the JSON text
+     */
+    public String toJson() {
+        StringBuilder json = new StringBuilder(256);
+        json.append("{\n  \"timestamp\": \"").append(Instant.now()).append("\",\n  \"counters\": {");
+        String separator = "\n";
+        for (Map.Entry<String, LongAdder> counter : counters.entrySet()) {
+            json.append(separator).append("    ").append(quote(counter.getKey())).append(": ").append(counter.getValue().sum());
+            separator = ",\n";
+        }
+        json.append("\n  },\n  \"histograms\": {");
+        separator = "\n";
+        for (Map.Entry<String, Histogram> histogram : histograms.entrySet()) {
+            Histogram h = histogram.getValue();
+            json.append(separator).append("    ").append(quote(histogram.getKey()))
+                    .append(": {\"count\": ").append(h.count())
+                    .append(", \"mean\": ").append(h.mean())
+                    .append(", \"max\": ").append(h.max())
+                    .append(", \"p50\": ").append(h.percentile(0.50))
+                    .append(", \"p90\": ").append(h.percentile(0.90))
+                    .append(", \"p99\": ").append(h.percentile(0.99)).append('}');
+            separator = ",\n";
+        }
+        json.append("\n  },\n  \"gc\": {");
+        separator = "\n";
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            json.append(separator).append("    ").append(quote(gc.getName()))
+                    .append(": {\"collections\": ").append(gc.getCollectionCount())
+                    .append(", \"millis\": ").append(gc.getCollectionTime()).append('}');
+            separator = ",\n";
+        }
+        return json.append("\n  }\n}\n").toString();
+    }
+
+    /**
+     * Writes {@link #toJson()} to a file, replacing it whole so a reader never sees half a dump.
+     *
+     * @param file the file to write
+     * @throws IOException if the file cannot be written
+     */
+    public void dump(Path file) throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.writeString(temp, toJson(), StandardCharsets.UTF_8);
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Writes {@link #toJson()} to a file now and then again after every period, from a daemon
+     * thread, until the returned future is cancelled. A failed write is reported on standard
+     * error and retried at the next period.
+     *
+     * @param file the file to write
+     * @param period the time between dumps
+     * @return the schedule; cancel it to stop dumping
+     */
+    public ScheduledFuture<?> dumpEvery(Path file, Duration period) {
+        return DUMPS.scheduleAtFixedRate(() -> {
+            try {
+                dump(file);
+            } catch (IOException e) {
+                System.err.println("Could not write metrics to " + file + ": " + e.getMessage());
+            }
+        }, 0, period.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Creates the default registry from the {@code simulation.metrics} properties, scheduling
+     * its dumps if a file is given.
+     */
+    private static MetricsRegistry fromSystemProperties() {
+        String file = System.getProperty("simulation.metrics.file");
+        MetricsRegistry registry = new MetricsRegistry(Boolean.getBoolean("simulation.metrics") || file != null);
+        if (file != null) {
+            Path path = Path.of(file);
+            long period = Long.getLong("simulation.metrics.period", 0);
+            if (period > 0) {
+                registry.dumpEvery(path, Duration.ofSeconds(period));
+            }
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    registry.dump(path);
+                } catch (IOException e) {
+                    System.err.println("Could not write metrics to " + path + ": " + e.getMessage());
+                }
+            }, "metrics-final-dump"));
+        }
+        return registry;
+    }
+
+    /**
+     * Returns the total time all garbage collectors have spent so far.
+     *
+     * @return collection time in milliseconds
+     */
+    static long gcMillis() {
+        long millis = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            millis += Math.max(gc.getCollectionTime(), 0);
+        }
+        return millis;
+    }
+
+    private static String quote(String s) {
+        return '"' + s.replace("\\", "\\\\").replace("\"", "\\\"") + '"';
+    }
+
+    /**
+     * A histogram of non-negative values, such as latencies in nanoseconds, with one bucket per
+     * power of two. Recording is lock-free, and percentiles are accurate to within a factor of
+     * two, which is enough to see tails and imbalance.
+     */
+    static final class Histogram {
+        private final AtomicLongArray buckets = new AtomicLongArray(64);
+        private final LongAdder count = new LongAdder();
+        private final LongAdder sum = new LongAdder();
+        private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+        /**
+         * Records one value.
+         *
+         * @param value the value; negative values are recorded as 0
+         */
+        public void record(long value) {
+            value = Math.max(value, 0);
+            buckets.incrementAndGet(64 - Long.numberOfLeadingZeros(value) - (value == 0 ? 0 : 1));
+            count.increment();
+            sum.add(value);
+            max.accumulate(value);
+        }
+
+        /**
+         * Returns the number of values recorded.
+         *
+         * @return the count
+         */
+        public long count() {
+            return count.sum();
+        }
+
+        /**
+         * Returns the mean of the values recorded.
+         *
+         * @return the mean, or 0 if nothing was recorded
+         */
+        public double mean() {
+            long n = count.sum();
+            return n == 0 ? 0 : (double) sum.sum() / n;
+        }
+
+        /**
+         * Returns the largest value recorded.
+         *
+         * @return the maximum, or 0 if nothing was recorded
+         */
+        public long max() {
+            return max.get();
+        }
+
+        /**
+         * Returns an upper bound on the given percentile: the top of the bucket it falls in,
+         * capped at the maximum.
+         *
+         * @param quantile the percentile as a fraction, such as 0.99
+         * @return the percentile's upper bound, or 0 if nothing was recorded
+         */
+        public long percentile(double quantile) {
+            long n = count.sum();
+            if (n == 0) {
+                return 0;
+            }
+            long rank = (long) Math.ceil(quantile * n);
+            long seen = 0;
+            for (int bucket = 0; bucket < 64; bucket++) {
+                seen += buckets.get(bucket);
+                if (seen >= rank) {
+                    long top = bucket == 63 ? Long.MAX_VALUE : (2L << bucket) - 1;
+                    return Math.min(top, max());
+                }
+            }
+            return max();
+        }
+    }
+}
@@ -0,0 +1,216 @@
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGenerator.JumpableGenerator;
+import java.util.random.RandomGenerator.SplittableGenerator;
+import java.util.random.RandomGeneratorFactory;
+
+/**
+ * The random number generator the simulations draw from. It wraps one of the JDK's
+ * {@link RandomGenerator} algorithms, chosen per run, and adds what the simulations need most:
+ * <ul>
+ * <li>bounded ints by Lemire's multiply-and-shift method, which needs a division only on the
+ * rare draws that would be biased, where the JDK generators divide on every draw;</li>
+ * <li>bulk filling of int arrays;</li>
+ * <li>{@link #split()} for independent parallel streams: a split for splittable algorithms and a
+ * jump of 2^128 draws for Xoshiro256++.</li>
+ * </ul>
+ * Unlike {@link java.util.Random}, a RandomSource is not synchronized; give each thread its own
+ * with {@link #split()}.
+ *
+ * Shared by the Birthday, Monty Hall and Pokemon projects; it is built with each of them from
+ * the Common directory, like {@link Simulation}.
+ */
+final class RandomSource implements RandomGenerator {
+
+    /**
+     * The generator algorithms a run can choose from.
+     */
+    enum Algorithm {
+        /** Xoshiro256++: 256 bits of state and a tiny output function; parallel streams by jumping. */
+        XOSHIRO_256_PLUS_PLUS("Xoshiro256PlusPlus"),
+        /** L64X128MixRandom: an LXM generator with very good statistics; splittable. */
+        L64X128_MIX("L64X128MixRandom"),
+        /** SplittableRandom: SplitMix64, built into java.base; splittable. */
+        SPLITTABLE("SplittableRandom");
+
+        private final String jdkName;
+
+        Algorithm(String jdkName) {
+            this.jdkName = jdkName;
+        }
+
+        /**
+         * Returns the algorithm's name in {@link RandomGeneratorFactory}.
+         *
+         * @return the JDK algorithm name
+         */
+        public String jdkName() {
+            return jdkName;
+        }
+    }
+
+    /** Algorithm used when a run does not choose one. */
+    static final Algorithm DEFAULT_ALGORITHM = Algorithm.SPLITTABLE;
+
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private final RandomGenerator generator;
+
+    private RandomSource(RandomGenerator generator) {
+        this.generator = generator;
+    }
+
+    /**
+     * Creates a source with the default algorithm and a random seed.
+     *
+     * @return a new source
+     */
+    public static RandomSource create() {
+        return create(DEFAULT_ALGORITHM, new SplittableRandom().nextLong());
+    }
+
+    /**
+     * Creates a seeded source with the default algorithm.
+     *
+     * @param seed the seed
+     * @return a source that produces the same sequence for the same seed
+     */
+    public static RandomSource create(long seed) {
+        return create(DEFAULT_ALGORITHM, seed);
+    }
+
+    /**
+     * Creates a seeded source with the given algorithm.
+     *
+     * @param algorithm the generator algorithm
+     * @param seed the seed
+     * @return a source that produces the same sequence for the same algorithm and seed
+     */
+    public static RandomSource create(Algorithm algorithm, long seed) {
+        if (algorithm == Algorithm.SPLITTABLE) {
+            return new RandomSource(new SplittableRandom(seed));
+        }
+        return new RandomSource(RandomGeneratorFactory.of(algorithm.jdkName()).create(seed));
+    }
+
+    /**
+     * Creates the source for one stream of a seeded family, such as one batch of a run. The
+     * stream depends only on the algorithm, the seed and the index, so any stream can be made
+     * on its own, on any thread, without creating the ones before it.
+     *
+     * @param algorithm the generator algorithm
+     * @param seed the family's seed
+     * @param index the index of the stream within the family
+     * @return a source that produces the same sequence for the same algorithm, seed and index
+     */
+    public static RandomSource stream(Algorithm algorithm, long seed, long index) {
+        return create(algorithm, mix64(seed + mix64(index + GOLDEN_GAMMA)));
+    }
+
+    /**
+     * Returns a new source whose stream is independent of this one's, and advances this one so
+     * that successive splits are independent too. Splits made in the same order from the same
+     * seed are the same, whichever threads later use them.
+     *
+     * @return the new source
+     */
+    public RandomSource split() {
+        if (generator instanceof SplittableGenerator splittable) {
+            return new RandomSource(splittable.split());
+        }
+        return new RandomSource(((JumpableGenerator) generator).copyAndJump());
+    }
+
+    @Override
+    public long nextLong() {
+        return generator.nextLong();
+    }
+
+    @Override
+    public int nextInt() {
+        return generator.nextInt();
+    }
+
+    /**
+     * Returns a uniformly distributed int in [0, bound) by Lemire's method: the 64-bit product
+     * of a random 32-bit value and the bound holds the result in its high half, and its low
+     * half shows whether the draw fell in the small biased zone, in which case it is redrawn.
+     *
+     * @param bound the exclusive upper bound
+     * @return a value from 0 to bound - 1
+     * @throws IllegalArgumentException if bound is not positive
+     */
+    @Override
+    public int nextInt(int bound) {
+        if (bound <= 0) {
+            throw new IllegalArgumentException("bound must be positive");
+        }
+        long product = Integer.toUnsignedLong(generator.nextInt()) * bound;
+        int low = (int) product;
+        if (Integer.compareUnsigned(low, bound) < 0) {
+            int threshold = Integer.remainderUnsigned(-bound, bound);
+            while (Integer.compareUnsigned(low, threshold) < 0) {
+                product = Integer.toUnsignedLong(generator.nextInt()) * bound;
+                low = (int) product;
+            }
+        }
+        return (int) (product >>> 32);
+    }
+
+    /**
+     * Returns a uniformly distributed int in [origin, bound).
+     *
+     * @param origin the inclusive lower bound
+     * @param bound the exclusive upper bound
+     * @return a value from origin to bound - 1
+     * @throws IllegalArgumentException if origin is not less than bound
+     */
+    @Override
+    public int nextInt(int origin, int bound) {
+        if (origin >= bound) {
+            throw new IllegalArgumentException("origin must be less than bound");
+        }
+        int range = bound - origin;
+        if (range > 0) {
+            return origin + nextInt(range);
+        }
+        return generator.nextInt(origin, bound); // range wider than Integer.MAX_VALUE
+    }
+
+    /**
+     * Fills an array with uniformly distributed ints, two from each 64-bit draw.
+     *
+     * @param out the array to fill
+     */
+    public void nextInts(int[] out) {
+        int i = 0;
+        for (; i + 1 < out.length; i += 2) {
+            long bits = generator.nextLong();
+            out[i] = (int) (bits >>> 32);
+            out[i + 1] = (int) bits;
+        }
+        if (i < out.length) {
+            out[i] = generator.nextInt();
+        }
+    }
+
+    /**
+     * Fills an array with uniformly distributed ints in [0, bound).
+     *
+     * @param out the array to fill
+     * @param bound the exclusive upper bound
+     * @throws IllegalArgumentException if bound is not positive
+     */
+    public void nextInts(int[] out, int bound) {
+        for (int i = 0; i < out.length; i++) {
+            out[i] = nextInt(bound);
+        }
+    }
+
+    /** Stafford variant 13 of the MurmurHash3 finalizer, as used by SplittableRandom. */
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,358 @@
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.stream.LongStream;
+
+/**
+ * Runs the independent trials of a Monte Carlo simulation in parallel and aggregates their
+ * scores. The simulation supplies only the work of one trial; the runner takes care of the
+ * rest:
+ * <ul>
+ * <li>trials are cut into batches and the batches run on the fork/join common pool;</li>
+ * <li>batch b always draws from the stream derived from the seed and b, so a seeded run gives
+ * the same result however the batches are scheduled;</li>
+ * <li>streams are made as their batches start and batch totals are combined by a parallel
+ * reduction, so a run's memory does not grow with its number of batches;</li>
+ * <li>the streams come from the {@link RandomSource} algorithm chosen for the run;</li>
+ * <li>each worker thread gets its own state, created once and reused by every batch it runs;</li>
+ * <li>the run can be cancelled, and a listener hears about every finished batch;</li>
+ * <li>every batch and run is a {@link SimulationEvents} Flight Recorder event, and when the
+ * {@link MetricsRegistry#DEFAULT default registry} is on, batch times, per-thread trial counts,
+ * run times, time per trial under each generator algorithm, and garbage collection time are
+ * recorded to it under the simulation's name;</li>
+ * <li>the result holds the sum and sum of squares of the scores, from which the mean and its
+ * 95% confidence interval follow.</li>
+ * </ul>
+ * A trial that succeeds or fails scores 1 or 0, and the mean is then the success rate.
+ *
+ * The Birthday, Monty Hall and Pokemon projects share this runner from the Common directory:
+ * compile it together with a project's own sources, for example
+ * {@code javac -d out Common/*.java Pokemon/*.java}.
+ *
+ * @param <S> the type of the per-thread state
+ */
+final class Simulation<S> {
+
+    /** Number of trials in a batch unless set otherwise. */
+    static final int DEFAULT_BATCH_SIZE = 1 << 14;
+
+    /** Two-sided 95% quantile of the standard normal distribution. */
+    static final double Z_95 = 1.959963984540054;
+
+    /**
+     * The work of one trial.
+     *
+     * @param <S> the type of the per-thread state
+     */
+    @FunctionalInterface
+    interface Trial<S> {
+        /**
+         * Runs one trial. The state belongs to the calling thread and is handed to later trials
+         * on the same thread, so a trial must leave it as it found it for results to be
+         * reproducible.
+         *
+         * @param state the calling thread's state
+         * @param rand the random stream of the trial's batch
+         * @return the trial's score, 1 or 0 for a success or failure
+         */
+        long run(S state, RandomSource rand);
+    }
+
+    /**
+     * Hears about the progress of a run. Called from worker threads, possibly at the same time.
+     */
+    @FunctionalInterface
+    interface ProgressListener {
+        /**
+         * Called after each batch.
+         *
+         * @param trialsDone the number of trials finished so far
+         * @param trials the number of trials in the run
+         */
+        void progress(long trialsDone, long trials);
+    }
+
+    /**
+     * The aggregated scores of a run.
+     *
+     * @param trials the number of trials run; fewer than requested if the run was cancelled
+     * @param sum the sum of the scores
+     * @param sumOfSquares the sum of the squared scores
+     * @param cancelled whether the run was cancelled before every batch had started
+     */
+    record Result(long trials, long sum, long sumOfSquares, boolean cancelled) {
+
+        /**
+         * Returns the mean score, which is the success rate when every score is 0 or 1.
+         *
+         * @return the mean score, or NaN if no trial was run
+         */
+        public double mean() {
+            return (double) sum / trials;
+        }
+
+        /**
+         * Returns the mean score as a percentage.
+         *
+         * @return 100 times the mean score
+         */
+        public double percent() {
+            return mean() * 100;
+        }
+
+        /**
+         * Returns the standard error of the mean score.
+         *
+         * @return the standard error, or NaN if fewer than two trials were run
+         */
+        public double standardError() {
+            double mean = mean();
+            double variance = ((double) sumOfSquares - trials * mean * mean) / (trials - 1);
+            return Math.sqrt(Math.max(variance, 0.0) / trials);
+        }
+
+        /**
+         * Returns a 95% confidence interval for the mean score. When every score was 0 or 1,
+         * which is exactly when the sum equals the sum of squares, this is the Wilson score
+         * interval, which stays inside [0, 1] and is accurate for rates near 0 or 1; otherwise
+         * it is the normal interval around the mean.
+         *
+         * @return [low, high]
+         */
+        public double[] confidenceInterval() {
+            if (sum == sumOfSquares) {
+                return wilsonInterval(sum, trials);
+            }
+            double half = Z_95 * standardError();
+            return new double[] { mean() - half, mean() + half };
+        }
+    }
+
+    /**
+     * Computes the 95% Wilson score interval for a binomial proportion. Unlike the normal
+     * approximation it stays inside [0, 1] when the proportion is close to 0 or 1. When no
+     * trial or every trial succeeded, the bound on that side is exactly 0 or 1, so an exact
+     * probability of 0 or 1 always lies inside the interval despite rounding.
+     *
+     * @param successes the number of successes
+     * @param trials the number of trials
+     * @return [low, high] bounds of the interval
+     */
+    static double[] wilsonInterval(long successes, long trials) {
+        double p = (double) successes / trials;
+        double z2 = Z_95 * Z_95;
+        double denominator = 1 + z2 / trials;
+        double center = (p + z2 / (2.0 * trials)) / denominator;
+        double halfWidth = Z_95 * Math.sqrt(p * (1 - p) / trials + z2 / (4.0 * trials * trials)) / denominator;
+        double low = successes == 0 ? 0.0 : Math.max(0.0, center - halfWidth);
+        double high = successes == trials ? 1.0 : Math.min(1.0, center + halfWidth);
+        return new double[] { low, high };
+    }
+
+    /** Totals of one or more batches; addition is exact, so the reduction order does not matter. */
+    private record Tally(long trials, long sum, long sumOfSquares) {
+        static final Tally NONE = new Tally(0, 0, 0);
+
+        Tally plus(Tally other) {
+            return new Tally(trials + other.trials, sum + other.sum, sumOfSquares + other.sumOfSquares);
+        }
+    }
+
+    private final Trial<? super S> trial;
+    private final ThreadLocal<S> state;
+    private String name = "simulation";
+    private long seed;
+    private RandomSource.Algorithm algorithm = RandomSource.DEFAULT_ALGORITHM;
+    private int batchSize = DEFAULT_BATCH_SIZE;
+    private ProgressListener listener;
+    private volatile boolean cancelled;
+
+    /**
+     * Constructs a simulation whose trials need no state of their own.
+     *
+     * @param trial the work of one trial
+     */
+    public Simulation(Trial<? super S> trial) {
+        this(trial, () -> null);
+    }
+
+    /**
+     * Constructs a simulation whose trials reuse per-thread state, such as scratch arrays.
+     *
+     * @param trial the work of one trial
+     * @param state creates the state of each worker thread
+     */
+    public Simulation(Trial<? super S> trial, Supplier<? extends S> state) {
+        this.trial = trial;
+        this.state = ThreadLocal.withInitial(state);
+        this.seed = new SplittableRandom().nextLong();
+    }
+
+    /**
+     * Sets the name under which the simulation's events and metrics are recorded.
+     *
+     * @param name the name, such as "montyHall"
+     * @return this simulation
+     */
+    public Simulation<S> name(String name) {
+        this.name = name;
+        return this;
+    }
+
+    /**
+     * Sets the seed from which every batch's stream is split. Unseeded simulations pick a
+     * random seed.
+     *
+     * @param seed the seed
+     * @return this simulation
+     */
+    public Simulation<S> seed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    /**
+     * Sets the generator algorithm of the batches' streams. A run's result depends on the
+     * algorithm as well as the seed.
+     *
+     * @param algorithm the generator algorithm
+     * @return this simulation
+     */
+    public Simulation<S> algorithm(RandomSource.Algorithm algorithm) {
+        this.algorithm = algorithm;
+        return this;
+    }
+
+    /**
+     * Sets the number of trials in a batch. Batches are the unit of scheduling, progress and
+     * cancellation; a run's result depends on the batch size as well as the seed.
+     *
+     * @param batchSize the trials per batch
+     * @return this simulation
+     * @throws IllegalArgumentException if batchSize is not positive
+     */
+    public Simulation<S> batchSize(int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be positive");
+        }
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    /**
+     * Sets the listener told about each finished batch.
+     *
+     * @param listener the listener, or null for none
+     * @return this simulation
+     */
+    public Simulation<S> onProgress(ProgressListener listener) {
+        this.listener = listener;
+        return this;
+    }
+
+    /**
+     * Stops the run in progress. Batches already running finish and are counted; the rest
+     * are skipped, and the run returns a result over the trials that did run. If no run is in
+     * progress, the next run stops before its first batch. The request is cleared when a run
+     * finishes.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Runs the given number of trials on the common fork/join pool and waits for them.
+     *
+     * @param trials the number of trials
+     * @return the aggregated scores
+     * @throws IllegalArgumentException if trials is not positive
+     */
+    public Result run(long trials) {
+        if (trials < 1) {
+            throw new IllegalArgumentException("trials must be positive");
+        }
+        // Read the settings once, so every batch of the run sees the same ones
+        int batchSize = this.batchSize;
+        long seed = this.seed;
+        RandomSource.Algorithm algorithm = this.algorithm;
+        long batches = (trials - 1) / batchSize + 1;
+
+        // Read once, so a disabled registry costs nothing per batch
+        MetricsRegistry metrics = MetricsRegistry.DEFAULT;
+        boolean recording = metrics.isEnabled();
+        MetricsRegistry.Histogram batchNanos = recording ? metrics.histogram(name + ".batchNanos") : null;
+        long gcBefore = recording ? MetricsRegistry.gcMillis() : 0;
+        SimulationEvents.Run runEvent = new SimulationEvents.Run();
+        runEvent.begin();
+        long start = System.nanoTime();
+
+        LongAdder done = new LongAdder();
+        Tally total;
+        try {
+            total = LongStream.range(0, batches).parallel().mapToObj(b -> {
+                if (cancelled) {
+                    return Tally.NONE;
+                }
+                SimulationEvents.Batch event = new SimulationEvents.Batch();
+                event.begin();
+                long batchStart = recording ? System.nanoTime() : 0;
+                int size = (int) Math.min(batchSize, trials - b * batchSize);
+                S local = state.get();
+                RandomSource rand = RandomSource.stream(algorithm, seed, b);
+                long sum = 0;
+                long sumOfSquares = 0;
+                for (int t = 0; t < size; t++) {
+                    long score = trial.run(local, rand);
+                    sum += score;
+                    sumOfSquares += score * score;
+                }
+                if (recording) {
+                    batchNanos.record(System.nanoTime() - batchStart);
+                    metrics.counter(name + ".trials.thread." + Thread.currentThread().getName()).add(size);
+                }
+                event.end();
+                if (event.shouldCommit()) {
+                    event.simulation = name;
+                    event.batch = b;
+                    event.trials = size;
+                    event.sum = sum;
+                    event.commit();
+                }
+                done.add(size);
+                ProgressListener progress = listener;
+                if (progress != null) {
+                    progress.progress(done.sum(), trials);
+                }
+                return new Tally(size, sum, sumOfSquares);
+            }).reduce(Tally.NONE, Tally::plus);
+        } finally {
+            cancelled = false;
+        }
+
+        long ran = total.trials();
+        Result result = new Result(ran, total.sum(), total.sumOfSquares(), ran < trials);
+
+        long elapsed = System.nanoTime() - start;
+        if (recording) {
+            metrics.histogram(name + ".runNanos").record(elapsed);
+            metrics.counter(name + ".runs").increment();
+            metrics.counter(name + ".trials").add(ran);
+            if (ran > 0) {
+                // Trials differ only in their generator, so this compares the algorithms' cost
+                metrics.histogram(name + ".picosPerTrial." + algorithm.name()).record(elapsed * 1000 / ran);
+            }
+            metrics.counter(name + ".gcMillis").add(MetricsRegistry.gcMillis() - gcBefore);
+        }
+        runEvent.end();
+        if (runEvent.shouldCommit()) {
+            runEvent.simulation = name;
+            runEvent.algorithm = algorithm.name();
+            runEvent.trials = ran;
+            runEvent.trialsPerSecond = ran * 1e9 / Math.max(elapsed, 1);
+            runEvent.mean = result.mean();
+            runEvent.cancelled = result.cancelled();
+            runEvent.commit();
+        }
+        return result;
+    }
+}
@@ -0,0 +1,102 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JDK Flight Recorder events emitted by the simulation runners. Record them with, for example,
+ * {@code java -XX:StartFlightRecording:filename=run.jfr ...} and open the file in JDK Mission
+ * Control: batch events show each worker thread's share of a run and how long its batches took,
+ * run events the overall throughput, and sweep point events the estimate at each point of a
+ * sweep.
+ *
+ * Events are created once per batch, never per trial. While no recording is running,
+ * {@code shouldCommit()} is false and escape analysis removes the event objects, so an
+ * unrecorded run pays a few field reads per batch.
+ *
+ * Shared by the Birthday, Monty Hall and Pokemon projects from the Common directory, like
+ * {@link Simulation}.
+ */
+final class SimulationEvents {
+
+    private SimulationEvents() {
+        // Event types only
+    }
+
+    /** One batch of trials, timed from its first trial to its last. */
+    @Name("montecarlo.Batch")
+    @Label("Simulation Batch")
+    @Category({ "Monte Carlo" })
+    @Description("A batch of independent trials run by one worker thread")
+    @StackTrace(false)
+    static final class Batch extends Event {
+        @Label("Simulation")
+        String simulation;
+
+        @Label("Batch")
+        long batch;
+
+        @Label("Trials")
+        long trials;
+
+        @Label("Score Sum")
+        long sum;
+    }
+
+    /** A whole run, from its first batch to its result. */
+    @Name("montecarlo.Run")
+    @Label("Simulation Run")
+    @Category({ "Monte Carlo" })
+    @Description("A simulation run and its throughput")
+    @StackTrace(false)
+    static final class Run extends Event {
+        @Label("Simulation")
+        String simulation;
+
+        @Label("Generator")
+        String algorithm;
+
+        @Label("Trials")
+        long trials;
+
+        @Label("Trials per Second")
+        double trialsPerSecond;
+
+        @Label("Mean Score")
+        double mean;
+
+        @Label("Cancelled")
+        boolean cancelled;
+    }
+
+    /** One point of a sweep, such as one deck composition, once all of its trials are in. */
+    @Name("montecarlo.SweepPoint")
+    @Label("Sweep Point")
+    @Category({ "Monte Carlo" })
+    @Description("The estimate at one point of a parameter sweep")
+    @StackTrace(false)
+    static final class SweepPoint extends Event {
+        @Label("Sweep")
+        String sweep;
+
+        @Label("Point")
+        int point;
+
+        @Label("Trials")
+        long trials;
+
+        @Label("Successes")
+        long successes;
+
+        @Label("Rate")
+        double rate;
+
+        @Label("CI Low")
+        double ciLow;
+
+        @Label("CI High")
+        double ciHigh;
+    }
+}
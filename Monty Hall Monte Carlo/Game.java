@@ -1,14 +1,43 @@
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Random;
-
 /**
  * Simulates the Monty Hall problem, a probability puzzle based on a game show scenario
  * where a contestant must choose between three doors, one containing a prize.
  */
 public class Game {
     /** Random number generator for door selection */
-    private final Random rand = new Random();
+    private final RandomSource rand;
+    /** Generator algorithm of the parallel simulations */
+    private final RandomSource.Algorithm algorithm;
+    /** Where the win counts of each run are reported */
+    private ResultSink results = ResultSink.CONSOLE;
+
+    /**
+     * Constructs a game with the default generator algorithm and a random seed.
+     */
+    public Game() {
+        this(RandomSource.DEFAULT_ALGORITHM, RandomSource.create().nextLong());
+    }
+
+    /**
+     * Constructs a game that draws from the given generator algorithm. The same algorithm and
+     * seed give the same results on every run.
+     *
+     * @param algorithm The generator algorithm
+     * @param seed The seed
+     */
+    public Game(RandomSource.Algorithm algorithm, long seed) {
+        this.rand = RandomSource.create(algorithm, seed);
+        this.algorithm = algorithm;
+    }
+
+    /**
+     * Sets where the win counts of each run are reported. Defaults to the console;
+     * {@link ResultSink#NONE} silences them.
+     *
+     * @param results The sink for win counts
+     */
+    public void setResultSink(ResultSink results) {
+        this.results = results;
+    }
     
     /**
      * Simulates multiple iterations of the Monty Hall game with a specified strategy.
@@ -18,34 +47,37 @@ public class Game {
      * @return The number of games won using the specified strategy
      */
     public int playGame(int iterations, boolean isSwitching) {
-        int wins = 0;
-        for (int games = 0; games < iterations; games++) {
-            ArrayList<Integer> doors = new ArrayList<>();
-            doors.add(0);  // Empty door
-            doors.add(0);  // Empty door
-            doors.add(1);  // Door with prize
-            Collections.shuffle(doors);  // Randomize prize location
-            
-            int initialGuess = rand.nextInt(3);
-            
-            if (isSwitching) {
-                int revealedDoor = 0;
-                // Find a door to reveal (must be empty and not the initial guess)
-                while (revealedDoor == initialGuess || doors.get(revealedDoor) == 1) {
-                    revealedDoor = rand.nextInt(3);
-                }
-                // Calculate the remaining door to switch to
-                int switchedGuess = 3 - initialGuess - revealedDoor;
-                if (doors.get(switchedGuess) == 1) {
-                    wins++;
-                }
-            } else {
-                if (doors.get(initialGuess) == 1) {
-                    wins++;
-                }
-            }
-        }
-        return wins;
+        return (int) simulate(iterations, isSwitching).sum();
+    }
+
+    /**
+     * Simulates games with a specified strategy in parallel on the shared {@link Simulation}
+     * runner. Each game places the prize and the initial guess at random; a game scores 1 if
+     * the strategy wins it. The result's confidence interval is that of the win rate.
+     *
+     * @param iterations The number of games to simulate
+     * @param isSwitching Whether to use the door-switching strategy (true) or stay with initial choice (false)
+     * @return The number of games played and won
+     */
+    public Simulation.Result simulate(long iterations, boolean isSwitching) {
+        return simulation(isSwitching).run(iterations);
+    }
+
+    /**
+     * Returns the simulation behind {@link #simulate}, seeded from this game's generator but
+     * not yet run, so a caller can attach a progress listener or cancel it from another thread.
+     *
+     * @param isSwitching Whether to use the door-switching strategy (true) or stay with initial choice (false)
+     * @return the configured simulation
+     */
+    public Simulation<Void> simulation(boolean isSwitching) {
+        Simulation<Void> simulation = new Simulation<>((state, random) -> {
+            int prizeDoor = random.nextInt(3);
+            int initialGuess = random.nextInt(3);
+            int finalGuess = isSwitching ? switchedGuess(prizeDoor, initialGuess) : initialGuess;
+            return finalGuess == prizeDoor ? 1 : 0;
+        });
+        return simulation.name("montyHall").algorithm(algorithm).seed(rand.nextLong());
     }
     
     /**
@@ -59,12 +91,95 @@ public class Game {
         int stayWins = playGame(iterations, false);
         int switchWins = playGame(iterations, true);
         
-        System.out.println("Switch Wins: " + switchWins);
-        System.out.println("Stay Wins: " + stayWins);
+        if (results.isEnabled()) {
+            results.accept(new ResultSink.WinCounts(-1, switchWins, stayWins));
+        }
         
         double stayWinPerc = (double) stayWins / iterations * 100;
         double switchWinPerc = (double) switchWins / iterations * 100;
         
         return new double[] { stayWinPerc, switchWinPerc };
     }
+
+    /**
+     * Compares the staying and switching strategies using common random numbers. Each simulated
+     * game draws the prize location and initial guess once and is scored under both strategies,
+     * so the difference between them is measured on the same games rather than on two
+     * independent runs.
+     *
+     * When antithetic is true, games are drawn in pairs: the second game of each pair reuses the
+     * initial guess with the prize moved one door over. The two games of a pair can never both
+     * be won by staying, so their outcomes are negatively correlated and the pair average has
+     * half the variance of two independent games.
+     *
+     * @param iterations The number of games to simulate (consumed in pairs when antithetic is true)
+     * @param antithetic Whether to draw games in antithetic pairs
+     * @return An array containing four doubles: [stayWinPercentage, switchWinPercentage,
+     *         meanDifference, standardError], where meanDifference is the switching win percentage
+     *         minus the staying win percentage and standardError is its standard error, both in
+     *         percentage points
+     * @throws IllegalArgumentException if iterations is too small to estimate a standard error
+     */
+    public double[] calcPairedWinPerc(int iterations, boolean antithetic) {
+        int gamesPerSample = antithetic ? 2 : 1;
+        int samples = iterations / gamesPerSample;
+        if (samples < 2) {
+            throw new IllegalArgumentException("At least two samples are needed to estimate a standard error");
+        }
+
+        int stayWins = 0;
+        int switchWins = 0;
+        double sumDiff = 0.0;
+        double sumSquaredDiff = 0.0;
+        for (int sample = 0; sample < samples; sample++) {
+            int prizeDoor = rand.nextInt(3);
+            int initialGuess = rand.nextInt(3);
+
+            int stay = initialGuess == prizeDoor ? 1 : 0;
+            int swap = switchedGuess(prizeDoor, initialGuess) == prizeDoor ? 1 : 0;
+            if (antithetic) {
+                int antitheticPrize = (prizeDoor + 1) % 3;
+                stay += initialGuess == antitheticPrize ? 1 : 0;
+                swap += switchedGuess(antitheticPrize, initialGuess) == antitheticPrize ? 1 : 0;
+            }
+            stayWins += stay;
+            switchWins += swap;
+
+            // Difference of the sample means, so antithetic pairs count as one observation
+            double diff = (double) (swap - stay) / gamesPerSample;
+            sumDiff += diff;
+            sumSquaredDiff += diff * diff;
+        }
+
+        int games = samples * gamesPerSample;
+        if (results.isEnabled()) {
+            results.accept(new ResultSink.WinCounts(games, switchWins, stayWins));
+        }
+
+        double meanDiff = sumDiff / samples;
+        double variance = (sumSquaredDiff - samples * meanDiff * meanDiff) / (samples - 1);
+        double stdErr = Math.sqrt(Math.max(variance, 0.0) / samples);
+
+        double stayWinPerc = (double) stayWins / games * 100;
+        double switchWinPerc = (double) switchWins / games * 100;
+
+        return new double[] { stayWinPerc, switchWinPerc, meanDiff * 100, stdErr * 100 };
+    }
+
+    /**
+     * Returns the door a switching contestant ends on. The host opens the lowest-numbered door
+     * that is neither the initial guess nor the prize; which empty door he opens never changes
+     * the outcome, so no random draw is spent on it.
+     *
+     * @param prizeDoor The door hiding the prize
+     * @param initialGuess The contestant's initial guess
+     * @return The door the contestant switches to
+     */
+    private static int switchedGuess(int prizeDoor, int initialGuess) {
+        int revealedDoor = 0;
+        while (revealedDoor == initialGuess || revealedDoor == prizeDoor) {
+            revealedDoor++;
+        }
+        return 3 - initialGuess - revealedDoor;
+    }
 }
\ No newline at end of file
@@ -16,5 +16,8 @@ public class Main {
         double[] winPercs = game.calcWinPerc(10000);
         System.out.println("Win percentage from staying: " + winPercs[0] + "%");
         System.out.println("Win percentage from switching: " + winPercs[1] + "%");
+
+        double[] paired = game.calcPairedWinPerc(10000, true);
+        System.out.println("Switching advantage (paired, antithetic): " + paired[2] + " +/- " + paired[3] + " percentage points");
     }
 }
@@ -0,0 +1,56 @@
+/**
+ * Receives the win counts of each simulation run instead of having them printed directly,
+ * so batch runs can silence or collect them without any string formatting.
+ */
+public interface ResultSink {
+
+    /** Prints every result the way the simulator always has. */
+    ResultSink CONSOLE = counts -> System.out.println(counts.describe());
+
+    /** Discards every result; callers skip building the event entirely. */
+    ResultSink NONE = new ResultSink() {
+        @Override
+        public void accept(WinCounts counts) {
+        }
+
+        @Override
+        public boolean isEnabled() {
+            return false;
+        }
+    };
+
+    /**
+     * Handles the counts of one run.
+     *
+     * @param counts The win counts
+     */
+    void accept(WinCounts counts);
+
+    /**
+     * Whether this sink uses its results at all.
+     *
+     * @return false if results may be skipped without being built
+     */
+    default boolean isEnabled() {
+        return true;
+    }
+
+    /**
+     * The raw counts of one run.
+     *
+     * @param pairedGames The number of paired games, or -1 if the strategies were run separately
+     * @param switchWins The games won by switching
+     * @param stayWins The games won by staying
+     */
+    record WinCounts(int pairedGames, int switchWins, int stayWins) {
+        /**
+         * Formats the counts as the lines the simulator prints.
+         *
+         * @return a human-readable description of the counts
+         */
+        public String describe() {
+            String counts = "Switch Wins: " + switchWins + "\nStay Wins: " + stayWins;
+            return pairedGames < 0 ? counts : "Paired games: " + pairedGames + "\n" + counts;
+        }
+    }
+}
@@ -0,0 +1,161 @@
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hands events to a background thread that formats them and writes them through a buffered
+ * writer, so the game thread never formats text or waits on I/O. When the queue is full the
+ * game thread waits rather than dropping events. Call {@link #close()} to flush and stop;
+ * events accepted after that are rejected.
+ */
+class AsyncWriterSink implements EventSink, AutoCloseable {
+
+    private static final GameEvent STOP = new GameEvent.GameOver();
+    private static final int BATCH = 256;
+
+    /** How long a full queue is waited on before checking that the writer is still running. */
+    private static final long OFFER_WAIT_MILLIS = 100;
+
+    private final BlockingQueue<GameEvent> queue;
+    private final BufferedWriter out;
+    private final Thread writer;
+    private volatile IOException failure;
+    private volatile boolean closed;
+
+    /**
+     * Starts a writer thread that writes one line per event.
+     *
+     * @param out the destination; it is closed when this sink is closed
+     * @param capacity the number of events that can wait to be written
+     */
+    public AsyncWriterSink(Writer out, int capacity) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.out = new BufferedWriter(out);
+        this.writer = new Thread(this::drain, "event-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Queues an event, waiting while the queue is full.
+     *
+     * @param event the event to write
+     * @throws IllegalStateException if the sink is closed, or the calling thread is interrupted
+     *         while waiting, in which case the event is not written
+     */
+    @Override
+    public void accept(GameEvent event) {
+        if (closed) {
+            throw new IllegalStateException("Sink is closed");
+        }
+        enqueue(event);
+    }
+
+    /**
+     * Writes every queued event, stops the writer thread and closes the destination. Closing
+     * again has no effect. An interrupt does not cut the wait for the writer short, since the
+     * destination cannot be closed while the writer may still use it; the interrupt status is
+     * restored afterwards.
+     *
+     * @throws IOException if writing any event failed
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        boolean interrupted = false;
+        while (true) {
+            try {
+                enqueue(STOP);
+                break;
+            } catch (IllegalStateException e) {
+                if (!writer.isAlive()) {
+                    break;
+                }
+                interrupted |= Thread.interrupted();
+            }
+        }
+        while (writer.isAlive()) {
+            try {
+                writer.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        out.close();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /** Puts an event on the queue, failing rather than waiting forever if the writer has stopped. */
+    private void enqueue(GameEvent event) {
+        try {
+            while (!queue.offer(event, OFFER_WAIT_MILLIS, TimeUnit.MILLISECONDS)) {
+                if (!writer.isAlive()) {
+                    throw new IllegalStateException("Event writer has stopped");
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while queueing an event", e);
+        }
+    }
+
+    private void drain() {
+        List<GameEvent> batch = new ArrayList<>(BATCH);
+        try {
+            while (true) {
+                batch.add(queue.take());
+                queue.drainTo(batch, BATCH - 1);
+                for (GameEvent event : batch) {
+                    if (event == STOP) {
+                        flush();
+                        return;
+                    }
+                    write(event);
+                }
+                batch.clear();
+                if (queue.isEmpty()) {
+                    flush();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** Writes one event; after the first failure events are still consumed but discarded. */
+    private void write(GameEvent event) {
+        if (failure != null) {
+            return;
+        }
+        try {
+            out.write(event.describe());
+            out.newLine();
+        } catch (IOException e) {
+            failure = e;
+        }
+    }
+
+    private void flush() {
+        if (failure != null) {
+            return;
+        }
+        try {
+            out.flush();
+        } catch (IOException e) {
+            failure = e;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+import java.io.IOException;
+import java.util.stream.IntStream;
+
+/**
+ * Runs many {@link HeadlessGame}s across all cores and reports win rates and game lengths.
+ * Games are split into fixed-size shards, each with its own game state. Every game draws from
+ * {@link Shuffler#gameStream} for the seed and its index, so results are reproducible for a
+ * given seed and any game can be recorded and rebuilt on its own.
+ */
+class BatchRunner {
+
+    /** Number of games played by one shard. */
+    static final int GAMES_PER_SHARD = 1 << 14;
+
+    private final long seed;
+    private final CardSet cards;
+
+    /**
+     * Constructs a runner whose results are fully determined by the given seed, playing with
+     * the standard card set.
+     *
+     * @param seed the seed from which every game's random stream is derived
+     */
+    public BatchRunner(long seed) {
+        this(seed, CardSet.standard());
+    }
+
+    /**
+     * Constructs a runner whose results are fully determined by the given seed and card set.
+     *
+     * @param seed the seed from which every game's random stream is derived
+     * @param cards the card definitions
+     */
+    public BatchRunner(long seed, CardSet cards) {
+        this.seed = seed;
+        this.cards = cards;
+    }
+
+    /**
+     * Plays the given number of games between two policies.
+     *
+     * @param games the number of games to play
+     * @param pokemonInDeck the number of Pokémon in the shared deck
+     * @param first the policy of the player who moves first
+     * @param second the policy of the player who moves second
+     * @return an array of five doubles: [firstWinPercentage, secondWinPercentage,
+     *         drawPercentage, meanTurns, turnsStandardDeviation]
+     * @throws IllegalArgumentException if games is not positive
+     */
+    public double[] run(int games, int pokemonInDeck, Policy first, Policy second) {
+        return simulate(games, pokemonInDeck, first, second, false).stats;
+    }
+
+    /**
+     * Plays the given number of games between two policies and records every game in a replay
+     * log. Shards record in memory in parallel; the log is written in game order once they
+     * finish. Recording does not change the results.
+     *
+     * @param games the number of games to play
+     * @param pokemonInDeck the number of Pokémon in the shared deck
+     * @param first the policy of the player who moves first
+     * @param second the policy of the player who moves second
+     * @param log the replay log, whose seed must be this runner's seed
+     * @return the same statistics as {@link #run(int, int, Policy, Policy)}
+     * @throws IllegalArgumentException if games is not positive or the log has another seed
+     * @throws IOException if the log cannot be written
+     */
+    public double[] run(int games, int pokemonInDeck, Policy first, Policy second, ReplayWriter log)
+            throws IOException {
+        if (log.seed() != seed) {
+            throw new IllegalArgumentException("The replay log was opened with another seed");
+        }
+        Result result = simulate(games, pokemonInDeck, first, second, true);
+        for (ReplayRecorder recorder : result.recorders) {
+            log.write(recorder);
+        }
+        return result.stats;
+    }
+
+    /** Statistics of a run and, if it was recorded, each shard's games. */
+    private record Result(double[] stats, ReplayRecorder[] recorders) {
+    }
+
+    private Result simulate(int games, int pokemonInDeck, Policy first, Policy second, boolean record) {
+        if (games < 1) {
+            throw new IllegalArgumentException("games must be positive");
+        }
+
+        int shards = (games + GAMES_PER_SHARD - 1) / GAMES_PER_SHARD;
+        ReplayRecorder[] recorders = new ReplayRecorder[shards];
+
+        // Per shard: [firstWins, secondWins, draws, sumTurns, sumSquaredTurns]
+        long[][] tallies = new long[shards][];
+        IntStream.range(0, shards).parallel().forEach(s -> {
+            int shardGames = Math.min(GAMES_PER_SHARD, games - s * GAMES_PER_SHARD);
+            recorders[s] = record ? new ReplayRecorder() : null;
+            tallies[s] = playShard(new HeadlessGame(cards), (long) s * GAMES_PER_SHARD, shardGames,
+                    pokemonInDeck, first, second, recorders[s]);
+        });
+
+        long[] total = new long[5];
+        for (long[] tally : tallies) {
+            for (int i = 0; i < total.length; i++) {
+                total[i] += tally[i];
+            }
+        }
+        double meanTurns = (double) total[3] / games;
+        double variance = (double) total[4] / games - meanTurns * meanTurns;
+        double[] stats = {
+            (double) total[0] / games * 100,
+            (double) total[1] / games * 100,
+            (double) total[2] / games * 100,
+            meanTurns,
+            Math.sqrt(Math.max(variance, 0.0))
+        };
+        return new Result(stats, recorders);
+    }
+
+    private long[] playShard(HeadlessGame game, long firstGame, int games, int pokemonInDeck, Policy first,
+            Policy second, ReplayRecorder log) {
+        long[] tally = new long[5];
+        for (int g = 0; g < games; g++) {
+            int winner = game.play(pokemonInDeck, first, second, seed, firstGame + g, log);
+            tally[winner == HeadlessGame.DRAW ? 2 : winner]++;
+            long turns = game.getTurns();
+            tally[3] += turns;
+            tally[4] += turns * turns;
+        }
+        return tally;
+    }
+}
@@ -0,0 +1,519 @@
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Complete state of a two-player game packed into one int array, so that a copy is a single
+ * {@link System#arraycopy} and a tree search can afford thousands of them per decision.
+ * The array holds every card's hit points, the shared draw pile, both hands, the active
+ * Pokémon, whose turn it is, the turn count and the result. Card identities live in a second
+ * array of {@link CardSet} ids that does not change during a game, and every card attribute is
+ * read from the card set's flat tables.
+ *
+ * With journaling turned on every write records the old value, and {@link #undo(int)} rolls
+ * the state back to an earlier {@link #mark()}, which is cheaper than copying when a search
+ * explores one action and returns.
+ *
+ * The rules are those of {@link CardGame#playGame}, where both players draw from one shared
+ * pile; a state can also give each player a pile of their own for deck-against-deck play.
+ */
+class BattleState implements TurnView {
+
+    public static final int DECK_SIZE = 60;
+    public static final int HAND_SIZE = 7;
+
+    /** Games still going after this many turns are scored as draws. */
+    public static final int MAX_TURNS = 200;
+
+    /** Result of a drawn game. */
+    public static final int DRAW = -1;
+
+    /** Result of a game that has not finished. */
+    public static final int IN_PROGRESS = -2;
+
+    /** No card; used for an empty active spot. */
+    public static final int NONE = -1;
+
+    /** Most cards a state can hold: one deck per player. */
+    public static final int MAX_CARDS = 2 * DECK_SIZE;
+
+    // Layout of the packed state
+    private static final int HIT_POINTS = 0;
+    private static final int PILES = HIT_POINTS + MAX_CARDS;
+    private static final int HANDS = PILES + 2 * DECK_SIZE;
+    private static final int PILE_SIZES = HANDS + 2 * DECK_SIZE;
+    private static final int PILE_OF = PILE_SIZES + 2;
+    private static final int HAND_SIZES = PILE_OF + 2;
+    private static final int ACTIVE = HAND_SIZES + 2;
+    private static final int CURRENT = ACTIVE + 2;
+    private static final int TURNS = CURRENT + 1;
+    private static final int WINNER = TURNS + 1;
+    private static final int CARD_COUNT = WINNER + 1;
+    private static final int LENGTH = CARD_COUNT + 1;
+
+    private final int[] cardIds = new int[MAX_CARDS];
+    private final int[] data = new int[LENGTH];
+    private CardSet cards;
+
+    private boolean journaling;
+    private int[] journal = new int[256];
+    private int journalSize;
+
+    /**
+     * Constructs an empty state with no cards that plays with the standard card set.
+     */
+    public BattleState() {
+        this(CardSet.standard());
+    }
+
+    /**
+     * Constructs an empty state with no cards that plays with the given card set.
+     *
+     * @param cards the card definitions
+     */
+    public BattleState(CardSet cards) {
+        this.cards = cards;
+        clear();
+    }
+
+    /**
+     * Removes every card and resets the state to the start of a game, with both players
+     * drawing from the shared pile.
+     */
+    public void clear() {
+        Arrays.fill(data, 0);
+        data[ACTIVE] = NONE;
+        data[ACTIVE + 1] = NONE;
+        data[WINNER] = IN_PROGRESS;
+        journalSize = 0;
+    }
+
+    /**
+     * Deals a new game: fills the deck as {@link CardGame#fillDeck} does, draws a random
+     * 7-card hand for each player and makes each player's first Pokémon active.
+     *
+     * @param pokemonInDeck the number of Pokémon in the deck
+     * @param rand the generator for card kinds and draws
+     * @throws IllegalArgumentException if pokemonInDeck is not between 0 and DECK_SIZE, or the
+     *         card set has no other cards to fill the deck with
+     */
+    public void deal(int pokemonInDeck, RandomGenerator rand) {
+        if (pokemonInDeck < 0 || pokemonInDeck > DECK_SIZE) {
+            throw new IllegalArgumentException("Number of Pokémon must be between 0 and " + DECK_SIZE);
+        }
+        if (pokemonInDeck < DECK_SIZE && cards.fillerCount() == 0) {
+            throw new IllegalArgumentException("The card set has only Pokémon");
+        }
+        clear();
+        int species = cards.countOfType(CardType.POKEMON);
+        for (int i = 0; i < DECK_SIZE; i++) {
+            int cardId = i < pokemonInDeck
+                    ? cards.idOfType(CardType.POKEMON, rand.nextInt(species))
+                    : cards.fillerId(rand.nextInt(cards.fillerCount()));
+            putInPile(0, addCard(cardId, cards.hitPoints(cardId)));
+        }
+        dealHands(rand);
+    }
+
+    /**
+     * Deals a new game from a deck with an exact composition: composition[t] cards of each
+     * {@link CardType} t from POKEMON to HEAL_TRAINER. When the card set has several cards of a
+     * type, each copy is one of them at random.
+     *
+     * @param composition the number of Pokémon, Energy, Draw Trainer and Heal Trainer cards
+     * @param rand the generator for card choices and draws
+     * @throws IllegalArgumentException if the counts are negative, do not add up to DECK_SIZE,
+     *         or ask for a type the card set does not have
+     */
+    public void deal(int[] composition, RandomGenerator rand) {
+        clear();
+        fillPile(0, composition, rand);
+        dealHands(rand);
+    }
+
+    /**
+     * Deals a new game in which each player draws from a deck of their own, with the exact
+     * compositions given as in {@link #deal(int[], RandomGenerator)}.
+     *
+     * @param first the composition of the deck of the player who moves first
+     * @param second the composition of the deck of the player who moves second
+     * @param rand the generator for card choices and draws
+     * @throws IllegalArgumentException if either composition is invalid
+     */
+    public void deal(int[] first, int[] second, RandomGenerator rand) {
+        clear();
+        data[PILE_OF + 1] = 1;
+        fillPile(0, first, rand);
+        fillPile(1, second, rand);
+        dealHands(rand);
+    }
+
+    /** Adds a deck of the given composition to a pile. */
+    private void fillPile(int pile, int[] composition, RandomGenerator rand) {
+        if (composition.length != CardType.HEAL_TRAINER + 1) {
+            throw new IllegalArgumentException("composition needs one count per card type up to HEAL_TRAINER");
+        }
+        int total = 0;
+        for (int count : composition) {
+            if (count < 0) {
+                throw new IllegalArgumentException("Card counts cannot be negative");
+            }
+            total += count;
+        }
+        if (total != DECK_SIZE) {
+            throw new IllegalArgumentException("Card counts must add up to " + DECK_SIZE);
+        }
+        for (int type = CardType.POKEMON; type <= CardType.HEAL_TRAINER; type++) {
+            int kinds = cards.countOfType(type);
+            if (kinds == 0 && composition[type] > 0) {
+                throw new IllegalArgumentException("The card set has no cards of type " + type);
+            }
+            for (int i = 0; i < composition[type]; i++) {
+                int cardId = cards.idOfType(type, kinds == 1 ? 0 : rand.nextInt(kinds));
+                putInPile(pile, addCard(cardId, cards.hitPoints(cardId)));
+            }
+        }
+    }
+
+    /**
+     * Draws a random 7-card hand for each player from their pile and makes each player's
+     * first Pokémon active.
+     */
+    private void dealHands(RandomGenerator rand) {
+        for (int player = 0; player < 2; player++) {
+            for (int i = 0; i < HAND_SIZE && pileSize(player) > 0; i++) {
+                drawRandom(player, rand);
+            }
+            promotePokemon(player);
+        }
+        checkStart();
+    }
+
+    /**
+     * Adds a card to the state without placing it anywhere. Used with {@link #putInPile},
+     * {@link #putInHand} and {@link #setActive} to load a game in progress.
+     *
+     * @param cardId the catalog id of the card
+     * @param hitPoints the card's current hit points
+     * @return the slot assigned to the card
+     * @throws IllegalStateException if the state already holds MAX_CARDS cards
+     */
+    public int addCard(int cardId, int hitPoints) {
+        int slot = data[CARD_COUNT];
+        if (slot == MAX_CARDS) {
+            throw new IllegalStateException("A game holds at most " + MAX_CARDS + " cards");
+        }
+        cardIds[slot] = cardId;
+        data[HIT_POINTS + slot] = hitPoints;
+        data[CARD_COUNT] = slot + 1;
+        return slot;
+    }
+
+    /**
+     * Puts a card on top of the shared draw pile.
+     *
+     * @param slot the card's slot
+     */
+    public void putInPile(int slot) {
+        putInPile(0, slot);
+    }
+
+    private void putInPile(int pile, int slot) {
+        if (data[PILE_SIZES + pile] == DECK_SIZE) {
+            throw new IllegalStateException("A pile holds at most " + DECK_SIZE + " cards");
+        }
+        data[PILES + pile * DECK_SIZE + data[PILE_SIZES + pile]++] = slot;
+    }
+
+    /**
+     * Adds a card to the end of a player's hand.
+     *
+     * @param player the player, 0 or 1
+     * @param slot the card's slot
+     */
+    public void putInHand(int player, int slot) {
+        if (data[HAND_SIZES + player] == DECK_SIZE) {
+            throw new IllegalStateException("A hand holds at most " + DECK_SIZE + " cards");
+        }
+        data[HANDS + player * DECK_SIZE + data[HAND_SIZES + player]++] = slot;
+    }
+
+    /**
+     * Sets a player's active Pokémon.
+     *
+     * @param player the player, 0 or 1
+     * @param slot the Pokémon's slot, or NONE
+     */
+    public void setActive(int player, int slot) {
+        data[ACTIVE + player] = slot;
+    }
+
+    /**
+     * Sets whose turn it is and checks whether either player is already out of Pokémon.
+     *
+     * @param player the player to move, 0 or 1
+     */
+    public void setCurrentPlayer(int player) {
+        data[CURRENT] = player;
+        checkStart();
+    }
+
+    /**
+     * Makes this state an exact copy of another.
+     *
+     * @param other the state to copy
+     */
+    public void copyFrom(BattleState other) {
+        cards = other.cards;
+        System.arraycopy(other.cardIds, 0, cardIds, 0, other.data[CARD_COUNT]);
+        System.arraycopy(other.data, 0, data, 0, LENGTH);
+        journalSize = 0;
+    }
+
+    /**
+     * Turns journaling of writes on or off. Turning it off discards the journal.
+     *
+     * @param on whether to record writes for {@link #undo(int)}
+     */
+    public void setJournaling(boolean on) {
+        journaling = on;
+        journalSize = 0;
+    }
+
+    /**
+     * Returns a mark that {@link #undo(int)} can roll back to. Journaling must be on.
+     *
+     * @return the current journal position
+     */
+    public int mark() {
+        return journalSize;
+    }
+
+    /**
+     * Rolls the state back to the given mark by replaying the journal in reverse.
+     *
+     * @param mark a value returned by {@link #mark()}
+     */
+    public void undo(int mark) {
+        while (journalSize > mark) {
+            int oldValue = journal[--journalSize];
+            int index = journal[--journalSize];
+            data[index] = oldValue;
+        }
+    }
+
+    /**
+     * Returns the result of the game.
+     *
+     * @return 0 or 1 for the winning player, DRAW, or IN_PROGRESS
+     */
+    public int winner() {
+        return data[WINNER];
+    }
+
+    /**
+     * Returns the player whose turn it is.
+     *
+     * @return 0 or 1
+     */
+    public int currentPlayer() {
+        return data[CURRENT];
+    }
+
+    /**
+     * Returns the number of turns played so far.
+     *
+     * @return the number of turns
+     */
+    public int turns() {
+        return data[TURNS];
+    }
+
+    /**
+     * Writes the current player's distinct legal actions into the given array: every move of
+     * the active Pokémon, and the first copy of each kind of Trainer card in hand.
+     *
+     * @param actions an array of at least DECK_SIZE + 2 entries
+     * @return the number of actions written
+     */
+    public int legalActions(int[] actions) {
+        int count = 0;
+        int moves = cards.moveCount(activeId());
+        for (int m = 0; m < moves; m++) {
+            actions[count++] = Policy.attack(m);
+        }
+        boolean heal = false;
+        boolean draw = false;
+        for (int i = 0; i < handSize(); i++) {
+            byte type = cards.type(handCardId(i));
+            if (type == CardType.HEAL_TRAINER && !heal) {
+                heal = true;
+                actions[count++] = Policy.playTrainer(i);
+            } else if (type == CardType.DRAW_TRAINER && !draw) {
+                draw = true;
+                actions[count++] = Policy.playTrainer(i);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Plays one turn for the current player: carries out the action, replaces the opponent's
+     * Pokémon if it fainted, ends the game if the opponent has none left or the turn limit is
+     * reached, and passes the turn. Invalid actions waste the turn.
+     *
+     * @param action the encoded action, see {@link Policy}
+     * @param rand the generator for any cards drawn
+     */
+    public void apply(int action, RandomGenerator rand) {
+        int current = data[CURRENT];
+        int opponent = 1 - current;
+        set(TURNS, data[TURNS] + 1);
+
+        if (Policy.isAttack(action)) {
+            int activeId = activeId();
+            if (action < cards.moveCount(activeId)) {
+                int target = HIT_POINTS + data[ACTIVE + opponent];
+                set(target, Math.max(0, data[target] - cards.moveDamage(activeId, action)));
+            }
+        } else {
+            playTrainer(current, Policy.handIndex(action), rand);
+        }
+
+        if (data[HIT_POINTS + data[ACTIVE + opponent]] <= 0) {
+            set(ACTIVE + opponent, NONE);
+            promotePokemon(opponent);
+            if (data[ACTIVE + opponent] == NONE) {
+                set(WINNER, current);
+                return;
+            }
+        }
+        if (data[TURNS] >= MAX_TURNS) {
+            set(WINNER, DRAW);
+            return;
+        }
+        set(CURRENT, opponent);
+    }
+
+    @Override
+    public void copyStateInto(BattleState target) {
+        target.copyFrom(this);
+    }
+
+    @Override
+    public CardSet cards() {
+        return cards;
+    }
+
+    @Override
+    public int activeId() {
+        return cardIds[data[ACTIVE + data[CURRENT]]];
+    }
+
+    @Override
+    public int activeHitPoints() {
+        return data[HIT_POINTS + data[ACTIVE + data[CURRENT]]];
+    }
+
+    @Override
+    public int opponentActiveId() {
+        return cardIds[data[ACTIVE + 1 - data[CURRENT]]];
+    }
+
+    @Override
+    public int opponentHitPoints() {
+        return data[HIT_POINTS + data[ACTIVE + 1 - data[CURRENT]]];
+    }
+
+    @Override
+    public int handSize() {
+        return data[HAND_SIZES + data[CURRENT]];
+    }
+
+    @Override
+    public int handCardId(int handIndex) {
+        return cardIds[data[HANDS + data[CURRENT] * DECK_SIZE + handIndex]];
+    }
+
+    private void playTrainer(int player, int handIndex, RandomGenerator rand) {
+        if (handIndex >= data[HAND_SIZES + player]) {
+            return;
+        }
+        int cardId = cardIds[data[HANDS + player * DECK_SIZE + handIndex]];
+        byte type = cards.type(cardId);
+        if (type == CardType.HEAL_TRAINER) {
+            int target = HIT_POINTS + data[ACTIVE + player];
+            set(target, data[target] + cards.effect(cardId));
+            removeFromHand(player, handIndex);
+        } else if (type == CardType.DRAW_TRAINER) {
+            int toDraw = cards.effect(cardId);
+            removeFromHand(player, handIndex);
+            if (pileSize(player) >= toDraw) {
+                for (int i = 0; i < toDraw; i++) {
+                    drawRandom(player, rand);
+                }
+            }
+        }
+    }
+
+    /** Returns the number of cards left in the pile the player draws from. */
+    private int pileSize(int player) {
+        return data[PILE_SIZES + data[PILE_OF + player]];
+    }
+
+    /** Moves a random card from the player's pile to the end of the player's hand. */
+    private void drawRandom(int player, RandomGenerator rand) {
+        int pile = data[PILE_OF + player];
+        int base = PILES + pile * DECK_SIZE;
+        int pileSize = data[PILE_SIZES + pile];
+        int pick = base + rand.nextInt(pileSize);
+        int slot = data[pick];
+        set(pick, data[base + pileSize - 1]);
+        set(PILE_SIZES + pile, pileSize - 1);
+        int handSize = data[HAND_SIZES + player];
+        set(HANDS + player * DECK_SIZE + handSize, slot);
+        set(HAND_SIZES + player, handSize + 1);
+    }
+
+    /** Makes the first Pokémon in the player's hand active, as Player.drawPokemon does. */
+    private void promotePokemon(int player) {
+        int hand = HANDS + player * DECK_SIZE;
+        for (int i = 0; i < data[HAND_SIZES + player]; i++) {
+            int slot = data[hand + i];
+            if (cards.type(cardIds[slot]) == CardType.POKEMON) {
+                set(ACTIVE + player, slot);
+                removeFromHand(player, i);
+                return;
+            }
+        }
+    }
+
+    /** Removes a card from a hand, keeping the order of the remaining cards. */
+    private void removeFromHand(int player, int handIndex) {
+        int hand = HANDS + player * DECK_SIZE;
+        int handSize = data[HAND_SIZES + player];
+        for (int i = handIndex; i < handSize - 1; i++) {
+            set(hand + i, data[hand + i + 1]);
+        }
+        set(HAND_SIZES + player, handSize - 1);
+    }
+
+    /** A player who starts without an active Pokémon loses at once. */
+    private void checkStart() {
+        boolean first = data[ACTIVE] != NONE;
+        boolean second = data[ACTIVE + 1] != NONE;
+        if (!first || !second) {
+            data[WINNER] = first ? 0 : second ? 1 : DRAW;
+        }
+    }
+
+    private void set(int index, int value) {
+        if (journaling) {
+            if (journalSize + 2 > journal.length) {
+                journal = Arrays.copyOf(journal, journal.length * 2);
+            }
+            journal[journalSize++] = index;
+            journal[journalSize++] = data[index];
+        }
+        data[index] = value;
+    }
+}
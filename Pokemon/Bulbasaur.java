@@ -9,9 +9,7 @@ class Bulbasaur extends Pokemon {
      * and two moves: "Vine Whip" and "Tackle".
      */
     public Bulbasaur() {
-        super("Bulbasaur", 50, new Move[]{
-            new Move("Vine Whip", 20),   // Move 1: Vine Whip
-            new Move("Tackle", 10)       // Move 2: Tackle
-        });
+        super(CardCatalog.name(CardCatalog.BULBASAUR), CardCatalog.hitPoints(CardCatalog.BULBASAUR),
+                CardCatalog.moves(CardCatalog.BULBASAUR));
     }
 }
\ No newline at end of file
@@ -31,4 +31,12 @@ abstract class Card {
     public String getName() {
         return name;
     }
+
+    /**
+     * Returns the {@link CardType} code of the card, so callers can switch on it instead of
+     * testing the card's class.
+     *
+     * @return The card's type code.
+     */
+    public abstract byte getType();
 }
\ No newline at end of file
@@ -0,0 +1,163 @@
+/**
+ * Immutable catalog of every card kind in the game, keyed by a small integer id. The data is
+ * held in parallel arrays built once per process: names are shared String constants, each
+ * Pokémon's moves are a single shared Move array, and Energy and Trainer cards, which have no
+ * mutable state, are shared flyweight instances.
+ *
+ * Per-game state such as a Pokémon's remaining hit points is not stored here; see
+ * {@link BattleState}.
+ */
+final class CardCatalog {
+
+    public static final int BULBASAUR = 0;
+    public static final int SQUIRTLE = 1;
+    public static final int CHARMANDER = 2;
+    public static final int PIKACHU = 3;
+    public static final int ENERGY = 4;
+    public static final int DRAW_TRAINER = 5;
+    public static final int HEAL_TRAINER = 6;
+
+    /** Number of card kinds in the catalog. */
+    public static final int SIZE = 7;
+
+    /** Number of Pokémon species; their ids are 0 to POKEMON_SPECIES - 1. */
+    public static final int POKEMON_SPECIES = 4;
+
+    private static final byte[] TYPES = {
+        CardType.POKEMON, CardType.POKEMON, CardType.POKEMON, CardType.POKEMON,
+        CardType.ENERGY, CardType.DRAW_TRAINER, CardType.HEAL_TRAINER
+    };
+
+    private static final String[] NAMES = {
+        "Bulbasaur", "Squirtle", "Charmander", "Pikachu", "Energy Card", "Draw Trainer", "Heal Trainer"
+    };
+
+    private static final int[] HIT_POINTS = { 50, 50, 50, 60, 0, 0, 0 };
+
+    private static final Move[][] MOVES = {
+        { new Move("Vine Whip", 20), new Move("Tackle", 10) },
+        { new Move("Water Gun", 20), new Move("Bubble", 10) },
+        { new Move("Ember", 25), new Move("Scratch", 10) },
+        { new Move("Thunder Shock", 20), new Move("Quick Attack", 10) },
+        {}, {}, {}
+    };
+
+    /** Cards drawn by a Draw Trainer or hit points restored by a Heal Trainer. */
+    private static final int[] EFFECT = { 0, 0, 0, 0, 0, 1, 20 };
+
+    private static final Card[] SHARED = {
+        null, null, null, null,
+        new Energy(NAMES[ENERGY]),
+        new DrawTrainer(NAMES[DRAW_TRAINER], EFFECT[DRAW_TRAINER]),
+        new HealTrainer(NAMES[HEAL_TRAINER], EFFECT[HEAL_TRAINER])
+    };
+
+    private CardCatalog() {
+        // Static catalog only
+    }
+
+    /**
+     * Returns the {@link CardType} code of a card kind.
+     *
+     * @param id the catalog id
+     * @return the card-type code
+     */
+    public static byte type(int id) {
+        return TYPES[id];
+    }
+
+    /**
+     * Returns the name of a card kind.
+     *
+     * @param id the catalog id
+     * @return the card's name
+     */
+    public static String name(int id) {
+        return NAMES[id];
+    }
+
+    /**
+     * Returns the starting hit points of a Pokémon, or 0 for other cards.
+     *
+     * @param id the catalog id
+     * @return the starting hit points
+     */
+    public static int hitPoints(int id) {
+        return HIT_POINTS[id];
+    }
+
+    /**
+     * Returns the moves of a Pokémon. The array is shared by every copy of the card and must
+     * not be modified.
+     *
+     * @param id the catalog id
+     * @return the shared move array, empty for cards that are not Pokémon
+     */
+    public static Move[] moves(int id) {
+        return MOVES[id];
+    }
+
+    /**
+     * Returns the strength of a Trainer card's effect: the cards drawn by a Draw Trainer or
+     * the hit points restored by a Heal Trainer.
+     *
+     * @param id the catalog id
+     * @return the effect amount, or 0 for cards without one
+     */
+    public static int effect(int id) {
+        return EFFECT[id];
+    }
+
+    /**
+     * Returns the catalog id of a Card object.
+     *
+     * @param card the card
+     * @return the catalog id of the card's kind
+     * @throws IllegalArgumentException if the card's kind is not in the catalog
+     */
+    public static int idOf(Card card) {
+        if (card instanceof Bulbasaur) {
+            return BULBASAUR;
+        } else if (card instanceof Squirtle) {
+            return SQUIRTLE;
+        } else if (card instanceof Charmander) {
+            return CHARMANDER;
+        } else if (card instanceof Pikachu) {
+            return PIKACHU;
+        } else if (card instanceof Energy) {
+            return ENERGY;
+        } else if (card instanceof DrawTrainer) {
+            return DRAW_TRAINER;
+        } else if (card instanceof HealTrainer) {
+            return HEAL_TRAINER;
+        }
+        throw new IllegalArgumentException("Card is not in the catalog: " + card);
+    }
+
+    /**
+     * Returns a Card object for a card kind. Energy and Trainer cards are the shared flyweight
+     * instances; Pokémon are new objects, because a Pokémon object carries its own hit points.
+     *
+     * @param id the catalog id
+     * @return a card of the given kind
+     * @throws IllegalArgumentException if the id is not in the catalog
+     */
+    public static Card card(int id) {
+        switch (id) {
+            case BULBASAUR:
+                return new Bulbasaur();
+            case SQUIRTLE:
+                return new Squirtle();
+            case CHARMANDER:
+                return new Charmander();
+            case PIKACHU:
+                return new Pikachu();
+            case ENERGY:
+            case DRAW_TRAINER:
+            case HEAL_TRAINER:
+                return SHARED[id];
+            default:
+                throw new IllegalArgumentException("Unknown card id: " + id);
+        }
+    }
+}
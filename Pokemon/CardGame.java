@@ -1,21 +1,55 @@
-import java.util.ArrayList;
-import java.util.Random;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
 import java.util.Scanner;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.random.RandomGenerator;
 
 /**
  * The CardGame class simulates a card game involving Pokémon cards, Trainer cards, and Energy cards.
  * It manages the game flow, including drawing hands, checking for Pokémon in hand, and handling turns.
  */
 public class CardGame {
-    private ArrayList<Card> deck;
-    private Random rand;
+    private DrawPile deck;
+    private RandomGenerator rand;
+    private RandomSource.Algorithm algorithm = RandomSource.DEFAULT_ALGORITHM;
+    private Player computerPlayer;
+    private long computerMoveMillis = 200;
+    private EventSink events = new ConsoleSink();
 
     /**
      * Constructs a new CardGame instance with an empty deck and a random number generator.
      */
     public CardGame() {
-        deck = new ArrayList<>();
-        rand = new Random();
+        this(RandomSource.create());
+    }
+
+    /**
+     * Constructs a new CardGame instance with an empty deck that draws from the given generator
+     * algorithm. Parallel simulations run by this game use the same algorithm.
+     *
+     * @param algorithm the generator algorithm
+     * @param seed the seed
+     */
+    public CardGame(RandomSource.Algorithm algorithm, long seed) {
+        this(RandomSource.create(algorithm, seed));
+        this.algorithm = algorithm;
+    }
+
+    /**
+     * Constructs a new CardGame instance with an empty deck that draws from the given generator.
+     * Passing a seeded stream, such as one from {@link Shuffler#gameStream}, makes the game
+     * reproducible.
+     *
+     * @param rand the random number generator for deck filling and drawing
+     */
+    public CardGame(RandomGenerator rand) {
+        this.rand = rand;
+        deck = new DrawPile(rand);
     }
 
     /**
@@ -23,22 +57,48 @@ public class CardGame {
      *
      * @return the deck of cards
      */
-    public ArrayList<Card> getDeck() {
+    public DrawPile getDeck() {
         return deck;
     }
 
+    /**
+     * Returns the sink that receives game events.
+     *
+     * @return the event sink
+     */
+    public EventSink getEventSink() {
+        return events;
+    }
+
+    /**
+     * Sets the sink that receives game events. The default prints them to the console;
+     * {@link NoOpSink#INSTANCE} turns them off without any formatting cost.
+     *
+     * @param events the event sink
+     */
+    public void setEventSink(EventSink events) {
+        this.events = events;
+    }
+
+    /**
+     * Sets how long the computer player searches before each move.
+     *
+     * @param millis the time budget per move, in milliseconds
+     */
+    public void setComputerMoveMillis(long millis) {
+        this.computerMoveMillis = millis;
+    }
+
     /**
      * Draws a hand of 7 cards from the deck for the specified player.
-     * Cards are randomly selected from the deck and removed from it.
+     * Cards are randomly selected from the deck and removed from it in O(1) each.
      *
      * @param player the player who will receive the drawn cards
      */
     public void drawHand(Player player) {
         for (int i = 0; i < 7; i++) {
             if (!deck.isEmpty()) {
-                int cardToTakeIndex = rand.nextInt(deck.size());
-                player.drawCard(deck.get(cardToTakeIndex));
-                deck.remove(cardToTakeIndex);
+                player.drawCard(deck.drawRandom());
             }
         }
     }
@@ -60,32 +120,247 @@ public class CardGame {
      * @param runs The number of simulations to run
      * @param numOfPokemon The number of Pokémon to fill the deck with
      * @return the percentage of runs in which the player had at least one Pokémon in hand
+     * @throws IllegalArgumentException if runs is not positive or numOfPokemon is not between 0 and 60
      */
     public double howManyReshufflesPerc(int runs, int numOfPokemon) {
-        boolean hasPokemon = false;
-        int count = 0;
-        for (int i = 0; i < runs; i++) {
-            fillDeck(numOfPokemon);
-            Player tempPlayer = new Player("Test");
-            drawHand(tempPlayer);
-            if (checkHand(tempPlayer)) {
-                hasPokemon = true;
-                count++;
-            }
-            deck.clear();
+        return openingHands(runs, numOfPokemon).percent();
+    }
+
+    /**
+     * Runs the opening-hand trials behind {@link #howManyReshufflesPerc} in parallel on the
+     * shared {@link Simulation} runner, seeded from this game's generator. A trial scores 1
+     * if the 7-card hand holds a Pokémon; only card types matter, so hands are drawn with
+     * {@link OpeningHandSimulator#handHasPokemon} instead of building a deck of Card objects.
+     *
+     * @param runs The number of hands to draw
+     * @param numOfPokemon The number of Pokémon in the deck
+     * @return the number of hands drawn and of hands with a Pokémon, with a 95% confidence interval
+     * @throws IllegalArgumentException if runs is not positive or numOfPokemon is not between 0 and 60
+     */
+    public Simulation.Result openingHands(long runs, int numOfPokemon) {
+        return openingHandsSimulation(numOfPokemon).run(runs);
+    }
+
+    /**
+     * Returns the simulation behind {@link #openingHands}, seeded from this game's generator
+     * but not yet run, so a caller can attach a progress listener or cancel it from another
+     * thread.
+     *
+     * @param numOfPokemon The number of Pokémon in the deck
+     * @return the configured simulation
+     * @throws IllegalArgumentException if numOfPokemon is not between 0 and 60
+     */
+    public Simulation<Void> openingHandsSimulation(int numOfPokemon) {
+        if (numOfPokemon < 0 || numOfPokemon > OpeningHandSimulator.DECK_SIZE) {
+            throw new IllegalArgumentException("Number of Pokémon must be between 0 and " + OpeningHandSimulator.DECK_SIZE);
         }
-        return (double) count / (double) runs * 100;
+        Simulation<Void> simulation = new Simulation<>(
+                (state, random) -> OpeningHandSimulator.handHasPokemon(numOfPokemon, random) ? 1 : 0);
+        return simulation.name("openingHands").algorithm(algorithm).seed(rand.nextLong());
     }
 
     /**
      * Runs a Monte Carlo simulation for a range of Pokémon counts to see how many reshuffles
-     * are required to ensure a player has Pokémon in their hand.
+     * are required to ensure a player has Pokémon in their hand. Uses the allocation-free
+     * {@link OpeningHandSimulator} rather than building Card objects for every run.
      *
      * @param runs the number of simulations to run for each Pokémon count
      */
     public void monteCarlo(int runs) {
+        OpeningHandSimulator simulator = new OpeningHandSimulator(rand);
         for (int j = 1; j <= 60; j++) {
-            System.out.println("With " + j + " Pokémon in deck: " + howManyReshufflesPerc(runs, j));
+            System.out.println("With " + j + " Pokémon in deck: " + simulator.howManyReshufflesPerc(runs, j));
+        }
+    }
+
+    /**
+     * Runs the {@link #monteCarlo} sweep in parallel and prints each Pokémon count with its
+     * 95% confidence interval. The table is the same on every run with the same seed.
+     *
+     * @param runs the number of simulations to run for each Pokémon count
+     * @param seed the seed for the sweep's random streams
+     */
+    public void parallelMonteCarlo(int runs, long seed) {
+        double[][] table = new DeckCompositionSweep(seed).run(runs, 1, 60);
+        for (double[] row : table) {
+            System.out.printf("With %d Pokémon in deck: %.3f%% (95%% CI %.3f%% - %.3f%%)%n",
+                    (int) row[0], row[1], row[2], row[3]);
+        }
+    }
+
+    /**
+     * Prints the exact probability of a Pokémon in the opening hand next to the parallel
+     * Monte Carlo estimate for every Pokémon count, flagging any count whose exact value falls
+     * outside the simulation's 95% confidence interval.
+     *
+     * @param runs the number of simulations to run for each Pokémon count
+     * @param seed the seed for the simulation
+     */
+    public void crossCheck(int runs, long seed) {
+        double[][] rows = DeckAnalytics.crossCheck(runs, seed);
+        int outside = 0;
+        for (double[] row : rows) {
+            System.out.printf("With %d Pokémon in deck: exact %.3f%%, simulated %.3f%% (95%% CI %.3f%% - %.3f%%)%s%n",
+                    (int) row[0], row[1], row[2], row[3], row[4], row[5] == 1.0 ? "" : " OUTSIDE CI");
+            if (row[5] != 1.0) {
+                outside++;
+            }
+        }
+        // A 95% interval misses the true value in about one row in twenty by chance alone
+        System.out.printf("%d of %d exact values outside the 95%% CI (about %.0f expected by chance)%n",
+                outside, rows.length, rows.length * 0.05);
+    }
+
+    /**
+     * Prints the distribution of mulligans, meaning reshuffles until the opening hand has a
+     * Pokémon, for every Pokémon count, next to the exact expected number. The expected number
+     * of mulligans is also how many extra cards the opponent gets to draw.
+     *
+     * @param runs the number of opening sequences to simulate for each Pokémon count
+     * @param seed the seed for the simulation
+     */
+    public void mulliganTable(int runs, long seed) {
+        for (double[] row : new MulliganSimulator(seed).run(runs, 1, 60)) {
+            System.out.printf("With %d Pokémon in deck: %.4f mulligans (exact %.4f), "
+                    + "0: %.2f%%, 1: %.2f%%, 2: %.2f%%, 3+: %.2f%%, most %d%n",
+                    (int) row[0], row[1], row[2], row[3], row[4], row[5], row[6], (int) row[7]);
+        }
+    }
+
+    /**
+     * Plays complete games between two policies with the headless engine and prints the win
+     * rates and game lengths. Nothing is printed while the games run.
+     *
+     * @param games the number of games to play
+     * @param pokemonInDeck the number of Pokémon in the deck
+     * @param first the policy of the player who moves first
+     * @param second the policy of the player who moves second
+     * @param seed the seed for the games' random streams
+     */
+    public void simulateGames(int games, int pokemonInDeck, Policy first, Policy second, long seed) {
+        simulateGames(CardSet.standard(), games, pokemonInDeck, first, second, seed);
+    }
+
+    /**
+     * Plays complete games between two policies with a custom card set, for example one loaded
+     * with {@link CardSet#fromCsv}, and prints the win rates and game lengths.
+     *
+     * @param cards the card definitions
+     * @param games the number of games to play
+     * @param pokemonInDeck the number of Pokémon in the deck
+     * @param first the policy of the player who moves first
+     * @param second the policy of the player who moves second
+     * @param seed the seed for the games' random streams
+     */
+    public void simulateGames(CardSet cards, int games, int pokemonInDeck, Policy first, Policy second, long seed) {
+        double[] stats = new BatchRunner(seed, cards).run(games, pokemonInDeck, first, second);
+        System.out.printf("First player wins: %.2f%%, second player wins: %.2f%%, draws: %.2f%%%n",
+                stats[0], stats[1], stats[2]);
+        System.out.printf("Turns per game: %.2f (standard deviation %.2f)%n", stats[3], stats[4]);
+    }
+
+    /**
+     * Searches for the deck mix that gives the first player the best win rate between two
+     * policies and prints it with its confidence interval.
+     *
+     * @param first the policy of the player who moves first
+     * @param second the policy of the player who moves second
+     * @param maxTrials the most games played with any one deck mix
+     * @param seed the seed for the search
+     */
+    public void optimizeDeck(Policy first, Policy second, int maxTrials, long seed) {
+        DeckOptimizer optimizer = new DeckOptimizer(DeckOptimizer.firstPlayerWins(first, second), seed, maxTrials);
+        double[] best = optimizer.optimize(new int[] { 15, 15, 15, 15 }, 8);
+        System.out.printf("Best deck: %d Pokémon, %d Energy, %d Draw Trainers, %d Heal Trainers%n",
+                (int) best[0], (int) best[1], (int) best[2], (int) best[3]);
+        System.out.printf("First player wins: %.2f%% (95%% CI %.2f%% - %.2f%%) over %d games; %d decks evaluated%n",
+                best[4], best[5], best[6], (long) best[7], optimizer.evaluations());
+    }
+
+    /**
+     * Plays complete games between two policies like {@link #simulateGames} and records every
+     * game in a replay log, so any of them can be rebuilt with {@link #replayGame}.
+     *
+     * @param games the number of games to play
+     * @param pokemonInDeck the number of Pokémon in the deck
+     * @param first the policy of the player who moves first
+     * @param second the policy of the player who moves second
+     * @param seed the seed for the games' random streams
+     * @param file the replay log to write
+     * @throws IOException if the log cannot be written
+     */
+    public void recordGames(int games, int pokemonInDeck, Policy first, Policy second, long seed, Path file)
+            throws IOException {
+        double[] stats;
+        try (ReplayWriter log = new ReplayWriter(file, seed)) {
+            stats = new BatchRunner(seed).run(games, pokemonInDeck, first, second, log);
+        }
+        System.out.printf("First player wins: %.2f%%, second player wins: %.2f%%, draws: %.2f%%%n",
+                stats[0], stats[1], stats[2]);
+        System.out.printf("Recorded %d games in %d bytes%n", games, Files.size(file));
+    }
+
+    /**
+     * Rebuilds one recorded game from a replay log and prints every turn's action.
+     *
+     * @param file the replay log
+     * @param gameIndex the index of the game to rebuild
+     * @throws IOException if the log cannot be read
+     * @throws IllegalArgumentException if the log has no game with that index
+     */
+    public void replayGame(Path file, long gameIndex) throws IOException {
+        ReplayReader reader = new ReplayReader(file);
+        while (reader.next()) {
+            if (reader.gameIndex() != gameIndex) {
+                continue;
+            }
+            HeadlessGame game = new HeadlessGame();
+            int winner = game.replay(reader);
+            for (int turn = 0; turn < reader.actionCount(); turn++) {
+                int action = reader.action(turn);
+                System.out.println("Turn " + (turn + 1) + ": Player " + (turn % 2 + 1)
+                        + (Policy.isAttack(action) ? " uses move " + (action + 1)
+                                : " plays hand card " + (Policy.handIndex(action) + 1)));
+            }
+            System.out.println(winner == HeadlessGame.DRAW ? "Draw" : "Player " + (winner + 1) + " wins"
+                    + (winner == reader.winner() ? "" : " (the log recorded a different result)"));
+            return;
+        }
+        throw new IllegalArgumentException("No game " + gameIndex + " in " + file);
+    }
+
+    /**
+     * Plays a round-robin tournament between decks, printing progress and the estimated time
+     * left every second, then prints the win matrix and each deck's Elo rating.
+     *
+     * @param entrants the decks taking part
+     * @param gamesPerPair the number of games each pair of decks plays
+     * @param seed the seed for the tournament
+     * @throws InterruptedException if the thread is interrupted while waiting
+     * @throws ExecutionException if a game fails
+     */
+    public void runTournament(List<Tournament.Entrant> entrants, int gamesPerPair, long seed)
+            throws InterruptedException, ExecutionException {
+        Tournament tournament = new Tournament(entrants, gamesPerPair, seed);
+        ForkJoinTask<Void> task = tournament.start();
+        while (true) {
+            try {
+                task.get(1, TimeUnit.SECONDS);
+                break;
+            } catch (TimeoutException e) {
+                System.out.printf("%.1f%% of %d games played, about %d s left%n",
+                        tournament.progress() * 100, tournament.totalGames(), tournament.etaMillis() / 1000);
+            }
+        }
+
+        long[][] wins = tournament.winMatrix();
+        double[] ratings = tournament.ratings();
+        for (int i = 0; i < entrants.size(); i++) {
+            StringBuilder row = new StringBuilder(String.format("%-16s %7.1f |", entrants.get(i).name(), ratings[i]));
+            for (int j = 0; j < entrants.size(); j++) {
+                row.append(i == j ? "      -" : String.format(" %6.2f", 100.0 * wins[i][j] / tournament.gamesPerPair()));
+            }
+            System.out.println(row);
         }
     }
 
@@ -95,39 +370,15 @@ public class CardGame {
      * @param howManyPokemon the number of Pokémon to add to the deck
      */
     public void fillDeck(int howManyPokemon) {
-        // Add Pokémon to the deck
+        // Add Pokémon to the deck; each gets its own object since it tracks its own hit points
         for (int j = 0; j < howManyPokemon; j++) {
-            int pick = rand.nextInt(4); // Assuming 4 different Pokémon classes
-            switch (pick) {
-                case 0:
-                    deck.add(new Bulbasaur());
-                    break;
-                case 1:
-                    deck.add(new Squirtle());
-                    break;
-                case 2:
-                    deck.add(new Charmander());
-                    break;
-                case 3:
-                    deck.add(new Pikachu());
-                    break;
-            }
+            deck.add(CardCatalog.card(rand.nextInt(CardCatalog.POKEMON_SPECIES)));
         }
 
-        // Fill the rest of the deck with Energy and Trainer cards
+        // Fill the rest of the deck with the shared Energy and Trainer cards
         for (int i = 0; i < 60 - howManyPokemon; i++) {
-            int pick = rand.nextInt(4); // 3 options: Energy, DrawTrainer, HealTrainer
-            switch (pick) {
-                case 0:
-                    deck.add(new Energy("Energy Card " + (i + 1)));
-                    break;
-                case 1:
-                    deck.add(new DrawTrainer("Draw Trainer " + (i + 1), 1));
-                    break;
-                case 2:
-                    deck.add(new HealTrainer("Heal Trainer " + (i + 1), 20));
-                    break;
-            }
+            int pick = rand.nextInt(3); // 3 options: Energy, DrawTrainer, HealTrainer
+            deck.add(CardCatalog.card(CardCatalog.ENERGY + pick));
         }
     }
 
@@ -143,6 +394,7 @@ public class CardGame {
         int monAmt = scanner.nextInt();
         scanner.nextLine();
         fillDeck(monAmt); // fill with amt of pokemon
+        deck.shuffle(); // so Draw Trainers draw a random card rather than the last one added
 
         // Ensure that the deck has enough cards
         if (deck.isEmpty()) {
@@ -161,13 +413,18 @@ public class CardGame {
         drawHand(player2);
         player2.drawPokemon(); // Set the first Pokémon as active
 
+        System.out.print("Should the computer play for " + player2.getName() + "? (y/n): ");
+        if (scanner.nextLine().trim().equalsIgnoreCase("y")) {
+            computerPlayer = player2;
+        }
+
         // Game Loop
         boolean gameOngoing = true;
         while (gameOngoing) {
             // Player 1 turn
             playerTurn(player1, player2, scanner);
             if (!player2.hasActivePokemon()) {
-                System.out.println(player2.getName() + " has no Pokémon left!");
+                emit(new GameEvent.OutOfPokemon(player2.getName()));
                 gameOngoing = false;
                 break;
             }
@@ -175,13 +432,24 @@ public class CardGame {
             // Player 2 turn
             playerTurn(player2, player1, scanner);
             if (!player1.hasActivePokemon()) {
-                System.out.println(player1.getName() + " has no Pokémon left!");
+                emit(new GameEvent.OutOfPokemon(player1.getName()));
                 gameOngoing = false;
                 break;
             }
         }
         scanner.close();
-        System.out.println("Game Over!");
+        emit(new GameEvent.GameOver());
+    }
+
+    /**
+     * Sends an event to the sink if it is enabled.
+     *
+     * @param event the event
+     */
+    private void emit(GameEvent event) {
+        if (events.isEnabled()) {
+            events.accept(event);
+        }
     }
 
     /**
@@ -193,8 +461,15 @@ public class CardGame {
      * @param scanner       the Scanner object for user input
      */
     private void playerTurn(Player currentPlayer, Player opponent, Scanner scanner) {
-        System.out.println(currentPlayer.getName() + "'s turn.");
-        System.out.println(currentPlayer.toString()); // Display player hand and active Pokémon
+        if (events.isEnabled()) {
+            events.accept(currentPlayer.turnStarted()); // Display player hand and active Pokémon
+        }
+
+        if (currentPlayer == computerPlayer) {
+            computerTurn(currentPlayer, opponent);
+            checkFainted(opponent);
+            return;
+        }
 
         System.out.println("Select an action:");
         System.out.println("1: Use Pokémon Move");
@@ -209,17 +484,9 @@ public class CardGame {
                     System.out.println(i+1 + ": " + moves[i]);
                 }
                 int moveIndex = scanner.nextInt()-1;
-                if (moveIndex >= 0 && moveIndex < moves.length) {
-                    Move selectedMove = moves[moveIndex];
-                    opponent.getActivePokemon().takeDamage(selectedMove.getDamage());
-                    System.out.println(currentPlayer.getName() + " uses " + selectedMove.getName() +
-                            " dealing " + selectedMove.getDamage() + " damage to " +
-                            opponent.getActivePokemon().getName() + ".");
-                } else {
-                    System.out.println("Invalid move selection.");
-                }
+                useMove(currentPlayer, opponent, moveIndex);
             } else {
-                System.out.println(currentPlayer.getName() + " has no active Pokémon left!");
+                emit(new GameEvent.Rejected(currentPlayer.getName(), GameEvent.Reason.NO_ACTIVE_POKEMON));
             }
         } else if (actionChoice == 2) {
             System.out.println("Select a Trainer card to use:");
@@ -232,12 +499,102 @@ public class CardGame {
             int trainerIndex = scanner.nextInt()-1;
             currentPlayer.useTrainerCard(trainerIndex, this);
         } else {
-            System.out.println("Invalid action selection.");
+            emit(new GameEvent.Rejected(currentPlayer.getName(), GameEvent.Reason.INVALID_ACTION));
+        }
+
+        checkFainted(opponent);
+    }
+
+    /**
+     * Attacks the opponent's active Pokémon with one of the current player's moves.
+     *
+     * @param currentPlayer the attacking player
+     * @param opponent      the defending player
+     * @param moveIndex     the index of the move to use
+     */
+    private void useMove(Player currentPlayer, Player opponent, int moveIndex) {
+        Move[] moves = currentPlayer.getActivePokemon().getMoves();
+        if (moveIndex >= 0 && moveIndex < moves.length) {
+            Move selectedMove = moves[moveIndex];
+            opponent.getActivePokemon().takeDamage(selectedMove.getDamage());
+            if (events.isEnabled()) {
+                events.accept(new GameEvent.MoveUsed(currentPlayer.getName(), selectedMove.getName(),
+                        selectedMove.getDamage(), opponent.getActivePokemon().getName()));
+            }
+        } else {
+            emit(new GameEvent.Rejected(currentPlayer.getName(), GameEvent.Reason.INVALID_MOVE));
+        }
+    }
+
+    /**
+     * Lets the computer take the current player's turn. The game is packed into a
+     * {@link BattleState} and the action is chosen by a {@link MoveSearch} within the
+     * computer's time budget per move.
+     *
+     * The computer does not see hidden cards: the opponent's hand is shuffled back in with the
+     * deck, and the opponent is dealt as many cards from it at random, so the search plays
+     * against the hands the opponent could hold rather than the one it does.
+     *
+     * @param currentPlayer the computer-controlled player
+     * @param opponent      the opponent player
+     */
+    private void computerTurn(Player currentPlayer, Player opponent) {
+        BattleState state = new BattleState();
+        loadActive(state, 0, currentPlayer);
+        for (Card card : currentPlayer.getHand()) {
+            state.putInHand(0, state.addCard(CardCatalog.idOf(card), hitPointsOf(card)));
         }
+        loadActive(state, 1, opponent);
 
+        List<Card> opponentHand = opponent.getHand();
+        List<Card> deckCards = deck.toList();
+        Card[] unseen = new Card[opponentHand.size() + deckCards.size()];
+        for (int i = 0; i < opponentHand.size(); i++) {
+            unseen[i] = opponentHand.get(i);
+        }
+        for (int i = 0; i < deckCards.size(); i++) {
+            unseen[opponentHand.size() + i] = deckCards.get(i);
+        }
+        Shuffler.shuffle(unseen, 0, unseen.length, rand);
+        for (int i = 0; i < unseen.length; i++) {
+            int slot = state.addCard(CardCatalog.idOf(unseen[i]), hitPointsOf(unseen[i]));
+            if (i < opponentHand.size()) {
+                state.putInHand(1, slot);
+            } else {
+                state.putInPile(slot);
+            }
+        }
+        state.setCurrentPlayer(0);
+
+        int action = new MoveSearch(computerMoveMillis).choose(state, rand);
+        if (Policy.isAttack(action)) {
+            useMove(currentPlayer, opponent, action);
+        } else {
+            currentPlayer.useTrainerCard(Policy.handIndex(action), this);
+        }
+    }
+
+    /** Adds a player's active Pokémon, which both players can see, to a search state. */
+    private static void loadActive(BattleState state, int index, Player player) {
+        Pokemon active = player.getActivePokemon();
+        if (active != null) {
+            state.setActive(index, state.addCard(CardCatalog.idOf(active), active.getHitPoints()));
+        }
+    }
+
+    private static int hitPointsOf(Card card) {
+        return card instanceof Pokemon ? ((Pokemon) card).getHitPoints() : 0;
+    }
+
+    /**
+     * Replaces the opponent's active Pokémon from their hand if it has fainted.
+     *
+     * @param opponent the player whose active Pokémon was attacked
+     */
+    private void checkFainted(Player opponent) {
         // Check for active Pokémon after the turn
         if (opponent.getActivePokemon().getHitPoints() <= 0) {
-            System.out.println(opponent.getActivePokemon().getName() + " has fainted!");
+            emit(new GameEvent.Fainted(opponent.getActivePokemon().getName()));
             opponent.setActivePokemon(null); // Remove fainted Pokémon
             if (opponent.hasPokemonInHand()) {
                 opponent.drawPokemon(); // Draw a new Pokémon
@@ -0,0 +1,352 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A set of card definitions compiled into flat lookup tables for the simulation engines.
+ * Every attribute is a primitive array indexed by card id, and the moves of all Pokémon are
+ * packed into one damage array with a start offset per card, so an engine's inner loop reads
+ * contiguous ints and never touches Card or Move objects.
+ *
+ * {@link #standard()} is the built-in {@link CardCatalog}; {@link #fromCsv(Path)} loads a
+ * custom set, so different cards can be simulated without recompiling. Instances are
+ * immutable and can be shared between threads.
+ */
+final class CardSet {
+
+    private static final CardSet STANDARD = buildStandard();
+
+    private final byte[] types;
+    private final String[] names;
+    private final int[] hitPoints;
+    private final int[] effects;
+    private final int[] strongestMove;
+
+    /** Moves of card id are entries moveStart[id] to moveStart[id + 1] - 1 */
+    private final int[] moveStart;
+    private final int[] moveDamage;
+    private final String[] moveNames;
+
+    /** Card ids grouped by CardType code */
+    private final int[][] idsByType;
+
+    /** Card ids that are not Pokémon, in id order */
+    private final int[] fillerIds;
+
+    private CardSet(List<Definition> definitions) {
+        int size = definitions.size();
+        types = new byte[size];
+        names = new String[size];
+        hitPoints = new int[size];
+        effects = new int[size];
+        strongestMove = new int[size];
+        moveStart = new int[size + 1];
+
+        int totalMoves = 0;
+        for (Definition definition : definitions) {
+            totalMoves += definition.moveNames.size();
+        }
+        moveDamage = new int[totalMoves];
+        moveNames = new String[totalMoves];
+
+        int[] typeCounts = new int[CardType.COUNT];
+        int move = 0;
+        for (int id = 0; id < size; id++) {
+            Definition definition = definitions.get(id);
+            types[id] = definition.type;
+            names[id] = definition.name;
+            hitPoints[id] = definition.type == CardType.POKEMON ? definition.value : 0;
+            effects[id] = definition.type == CardType.POKEMON ? 0 : definition.value;
+            moveStart[id] = move;
+            for (int m = 0; m < definition.moveNames.size(); m++) {
+                moveNames[move] = definition.moveNames.get(m);
+                moveDamage[move] = definition.moveDamage.get(m);
+                if (moveDamage[move] > moveDamage[moveStart[id] + strongestMove[id]]) {
+                    strongestMove[id] = m;
+                }
+                move++;
+            }
+            typeCounts[definition.type]++;
+        }
+        moveStart[size] = move;
+
+        idsByType = new int[CardType.COUNT][];
+        for (int type = 0; type < CardType.COUNT; type++) {
+            idsByType[type] = new int[typeCounts[type]];
+        }
+        fillerIds = new int[size - typeCounts[CardType.POKEMON]];
+        int[] filled = new int[CardType.COUNT];
+        int filler = 0;
+        for (int id = 0; id < size; id++) {
+            idsByType[types[id]][filled[types[id]]++] = id;
+            if (types[id] != CardType.POKEMON) {
+                fillerIds[filler++] = id;
+            }
+        }
+    }
+
+    /**
+     * Returns the built-in cards of {@link CardCatalog}, with the same ids.
+     *
+     * @return the standard card set
+     */
+    public static CardSet standard() {
+        return STANDARD;
+    }
+
+    private static CardSet buildStandard() {
+        List<Definition> definitions = new ArrayList<>(CardCatalog.SIZE);
+        for (int id = 0; id < CardCatalog.SIZE; id++) {
+            byte type = CardCatalog.type(id);
+            Definition definition = new Definition(type, CardCatalog.name(id),
+                    type == CardType.POKEMON ? CardCatalog.hitPoints(id) : CardCatalog.effect(id));
+            for (Move move : CardCatalog.moves(id)) {
+                definition.moveNames.add(move.getName());
+                definition.moveDamage.add(move.getDamage());
+            }
+            definitions.add(definition);
+        }
+        return new CardSet(definitions);
+    }
+
+    /**
+     * Loads card definitions from a CSV file with one card per line:
+     * <pre>
+     * type,name,value[,move,damage]...
+     * POKEMON,Pikachu,60,Thunder Shock,20,Quick Attack,10
+     * ENERGY,Energy Card,0
+     * DRAW_TRAINER,Draw Trainer,1
+     * HEAL_TRAINER,Heal Trainer,20
+     * </pre>
+     * The type is a {@link CardType} name. The value is a Pokémon's hit points, the cards a
+     * Draw Trainer draws or the hit points a Heal Trainer restores. Only Pokémon have moves.
+     * Blank lines, lines starting with '#' and a header line starting with "type" are ignored.
+     * Cards get ids in file order.
+     *
+     * @param file the CSV file
+     * @return the compiled card set
+     * @throws IOException if the file cannot be read
+     * @throws IllegalArgumentException if a line is malformed or the set has no Pokémon
+     */
+    public static CardSet fromCsv(Path file) throws IOException {
+        List<Definition> definitions = new ArrayList<>();
+        int lineNumber = 0;
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")
+                        || (definitions.isEmpty() && line.regionMatches(true, 0, "type", 0, 4))) {
+                    continue;
+                }
+                definitions.add(parse(line.split(","), lineNumber));
+            }
+        }
+        boolean hasPokemon = false;
+        for (Definition definition : definitions) {
+            hasPokemon |= definition.type == CardType.POKEMON;
+        }
+        if (!hasPokemon) {
+            throw new IllegalArgumentException("A card set needs at least one Pokémon: " + file);
+        }
+        return new CardSet(definitions);
+    }
+
+    private static Definition parse(String[] fields, int lineNumber) {
+        if (fields.length < 3 || fields.length % 2 == 0) {
+            throw new IllegalArgumentException("Expected type,name,value followed by move,damage pairs on line " + lineNumber);
+        }
+        byte type;
+        switch (fields[0].trim().toUpperCase()) {
+            case "POKEMON":
+                type = CardType.POKEMON;
+                break;
+            case "ENERGY":
+                type = CardType.ENERGY;
+                break;
+            case "DRAW_TRAINER":
+                type = CardType.DRAW_TRAINER;
+                break;
+            case "HEAL_TRAINER":
+                type = CardType.HEAL_TRAINER;
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown card type on line " + lineNumber + ": " + fields[0].trim());
+        }
+        Definition definition = new Definition(type, fields[1].trim(), parseCount(fields[2], lineNumber));
+        for (int i = 3; i < fields.length; i += 2) {
+            definition.moveNames.add(fields[i].trim());
+            definition.moveDamage.add(parseCount(fields[i + 1], lineNumber));
+        }
+        if (type == CardType.POKEMON && (definition.value == 0 || definition.moveNames.isEmpty())) {
+            throw new IllegalArgumentException("A Pokémon needs hit points and at least one move on line " + lineNumber);
+        }
+        if (type != CardType.POKEMON && !definition.moveNames.isEmpty()) {
+            throw new IllegalArgumentException("Only Pokémon have moves, line " + lineNumber);
+        }
+        return definition;
+    }
+
+    private static int parseCount(String field, int lineNumber) {
+        try {
+            int value = Integer.parseInt(field.trim());
+            if (value >= 0) {
+                return value;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below
+        }
+        throw new IllegalArgumentException("Invalid number on line " + lineNumber + ": " + field.trim());
+    }
+
+    /**
+     * Returns the number of cards in the set.
+     *
+     * @return the number of card ids
+     */
+    public int size() {
+        return types.length;
+    }
+
+    /**
+     * Returns the {@link CardType} code of a card.
+     *
+     * @param id the card id
+     * @return the card-type code
+     */
+    public byte type(int id) {
+        return types[id];
+    }
+
+    /**
+     * Returns the name of a card.
+     *
+     * @param id the card id
+     * @return the card's name
+     */
+    public String name(int id) {
+        return names[id];
+    }
+
+    /**
+     * Returns the starting hit points of a Pokémon, or 0 for other cards.
+     *
+     * @param id the card id
+     * @return the starting hit points
+     */
+    public int hitPoints(int id) {
+        return hitPoints[id];
+    }
+
+    /**
+     * Returns the cards drawn by a Draw Trainer or the hit points restored by a Heal Trainer.
+     *
+     * @param id the card id
+     * @return the effect amount, or 0 for cards without one
+     */
+    public int effect(int id) {
+        return effects[id];
+    }
+
+    /**
+     * Returns the number of moves of a card.
+     *
+     * @param id the card id
+     * @return the number of moves, 0 for cards that are not Pokémon
+     */
+    public int moveCount(int id) {
+        return moveStart[id + 1] - moveStart[id];
+    }
+
+    /**
+     * Returns the damage of one of a Pokémon's moves.
+     *
+     * @param id the card id
+     * @param move the move index, below moveCount(id)
+     * @return the move's damage
+     */
+    public int moveDamage(int id, int move) {
+        return moveDamage[moveStart[id] + move];
+    }
+
+    /**
+     * Returns the name of one of a Pokémon's moves.
+     *
+     * @param id the card id
+     * @param move the move index, below moveCount(id)
+     * @return the move's name
+     */
+    public String moveName(int id, int move) {
+        return moveNames[moveStart[id] + move];
+    }
+
+    /**
+     * Returns the index of a Pokémon's most damaging move; the first one wins ties.
+     *
+     * @param id the card id
+     * @return the index of the strongest move
+     */
+    public int strongestMove(int id) {
+        return strongestMove[id];
+    }
+
+    /**
+     * Returns the number of cards of a type.
+     *
+     * @param type the CardType code
+     * @return the number of card ids with that type
+     */
+    public int countOfType(int type) {
+        return idsByType[type].length;
+    }
+
+    /**
+     * Returns the i-th card of a type, in id order.
+     *
+     * @param type the CardType code
+     * @param i the index among cards of that type
+     * @return the card id
+     */
+    public int idOfType(int type, int i) {
+        return idsByType[type][i];
+    }
+
+    /**
+     * Returns the number of cards that are not Pokémon; a deck is topped up with these.
+     *
+     * @return the number of filler card ids
+     */
+    public int fillerCount() {
+        return fillerIds.length;
+    }
+
+    /**
+     * Returns the i-th card that is not a Pokémon, in id order.
+     *
+     * @param i the index among filler cards
+     * @return the card id
+     */
+    public int fillerId(int i) {
+        return fillerIds[i];
+    }
+
+    /** One parsed card before it is compiled into the tables. */
+    private static final class Definition {
+        final byte type;
+        final String name;
+        final int value;
+        final List<String> moveNames = new ArrayList<>();
+        final List<Integer> moveDamage = new ArrayList<>();
+
+        Definition(byte type, String name, int value) {
+            this.type = type;
+            this.name = name;
+            this.value = value;
+        }
+    }
+}
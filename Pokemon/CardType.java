@@ -0,0 +1,21 @@
+/**
+ * Compact card-type codes used by the simulation fast paths, where a deck is stored as a
+ * byte array instead of a list of Card objects.
+ */
+final class CardType {
+
+    public static final byte POKEMON = 0;
+    public static final byte ENERGY = 1;
+    public static final byte DRAW_TRAINER = 2;
+    public static final byte HEAL_TRAINER = 3;
+
+    /** A Trainer card with no effect of its own. */
+    public static final byte TRAINER = 4;
+
+    /** Number of card types. */
+    public static final int COUNT = 5;
+
+    private CardType() {
+        // Constants only
+    }
+}
@@ -9,9 +9,7 @@ class Charmander extends Pokemon {
      * and two moves: "Ember" and "Scratch".
      */
     public Charmander() {
-        super("Charmander", 50, new Move[]{
-            new Move("Ember", 25),   // Move 1: Ember
-            new Move("Scratch", 10)  // Move 2: Scratch
-        });
+        super(CardCatalog.name(CardCatalog.CHARMANDER), CardCatalog.hitPoints(CardCatalog.CHARMANDER),
+                CardCatalog.moves(CardCatalog.CHARMANDER));
     }
 }
\ No newline at end of file
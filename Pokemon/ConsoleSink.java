@@ -0,0 +1,11 @@
+/**
+ * Prints every event to standard output as soon as it happens, as the interactive game
+ * always has.
+ */
+class ConsoleSink implements EventSink {
+
+    @Override
+    public void accept(GameEvent event) {
+        System.out.println(event.describe());
+    }
+}
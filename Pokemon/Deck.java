@@ -1,6 +1,5 @@
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
+import java.util.random.RandomGenerator;
 
 /**
  * Represents a deck of cards in the card game. The deck contains Pokémon, Energy, and Trainer cards.
@@ -8,13 +7,25 @@ import java.util.Random;
  */
 class Deck {
 
-    private List<Card> cards;
+    private DrawPile cards;
 
     /**
      * Constructs a Deck and initializes it with a predefined set of Pokémon, Energy, and Trainer cards.
+     * Shuffles and draws use the generator of whichever thread makes them, so the deck can be
+     * built on one thread and used on another.
      */
     public Deck() {
-        cards = new ArrayList<>();
+        this(Shuffler.callingThreadGenerator());
+    }
+
+    /**
+     * Constructs a Deck that shuffles and draws with the given generator. Passing a seeded
+     * stream, such as one from {@link Shuffler#gameStream}, makes every draw reproducible.
+     *
+     * @param rand The random number generator for this deck.
+     */
+    public Deck(RandomGenerator rand) {
+        cards = new DrawPile(rand);
         initializeDeck();
     }
 
@@ -29,33 +40,35 @@ class Deck {
         cards.add(new Bulbasaur());
         cards.add(new Squirtle());
 
-        // Add Energy cards
+        // Add Energy cards (shared flyweights from the catalog)
         for (int i = 0; i < 15; i++) {
-            cards.add(new Energy("Basic Energy " + (i + 1)));
+            cards.add(CardCatalog.card(CardCatalog.ENERGY));
         }
 
         // Add Trainer cards
         for (int i = 0; i < 41; i++) { // 41 Trainer cards to reach 60 total cards
             if (i % 2 == 0) {
-                cards.add(new HealTrainer("Heal Trainer " + (i + 1), 20)); // Heal Trainer cards
+                cards.add(CardCatalog.card(CardCatalog.HEAL_TRAINER)); // Heal Trainer cards
             } else {
-                cards.add(new DrawTrainer("Draw Trainer " + (i + 1), 1)); // Draw Trainer cards
+                cards.add(CardCatalog.card(CardCatalog.DRAW_TRAINER)); // Draw Trainer cards
             }
         }
     }
 
     /**
-     * Shuffles the deck by randomly swapping the positions of cards.
+     * Shuffles the deck. The shuffle is lazy: each later draw picks a random remaining card.
      */
     public void shuffle() {
-        Random rand = new Random();
-        for (int i = 0; i < cards.size(); i++) {
-            int j = rand.nextInt(cards.size());
-            // Swap cards
-            Card temp = cards.get(i);
-            cards.set(i, cards.get(j));
-            cards.set(j, temp);
-        }
+        cards.shuffle();
+    }
+
+    /**
+     * Shuffles the deck right away with an unbiased Fisher–Yates shuffle driven by the given generator.
+     *
+     * @param rand The random number generator to shuffle with.
+     */
+    public void shuffle(RandomGenerator rand) {
+        cards.shuffle(rand);
     }
 
     /**
@@ -64,18 +77,22 @@ class Deck {
      * @return The card drawn from the top of the deck, or null if the deck is empty.
      */
     public Card drawCard() {
-        if (cards.isEmpty()) {
-            return null;
-        }
-        return cards.remove(cards.size() - 1); // Draw from the top of the deck
+        return cards.drawTop(); // Draw from the top of the deck
     }
 
     /**
-     * Returns the list of cards currently in the deck.
+     * Returns a copy of the cards currently in the deck.
      *
      * @return A list of cards in the deck.
      */
     public List<Card> getCards() {
-        return cards;
+        return cards.toList();
+    }
+
+    /**
+     * Returns every drawn card to the deck so it can be reused for another game.
+     */
+    public void reset() {
+        cards.reset();
     }
 }
\ No newline at end of file
@@ -0,0 +1,223 @@
+/**
+ * Exact deck probabilities from the hypergeometric and multivariate hypergeometric
+ * distributions. Everything the opening-hand simulations estimate has a closed form, and
+ * with the binomial coefficients cached in a table each query costs a handful of
+ * multiplications instead of a simulation.
+ */
+class DeckAnalytics {
+
+    /** Largest deck size the cached binomial table covers. */
+    public static final int MAX_DECK_SIZE = 200;
+
+    /** BINOMIAL[n][k] = n choose k, built once by Pascal's rule. */
+    private static final double[][] BINOMIAL = new double[MAX_DECK_SIZE + 1][];
+
+    static {
+        for (int n = 0; n <= MAX_DECK_SIZE; n++) {
+            BINOMIAL[n] = new double[n + 1];
+            BINOMIAL[n][0] = 1.0;
+            BINOMIAL[n][n] = 1.0;
+            for (int k = 1; k < n; k++) {
+                BINOMIAL[n][k] = BINOMIAL[n - 1][k - 1] + BINOMIAL[n - 1][k];
+            }
+        }
+    }
+
+    private DeckAnalytics() {
+        // Static queries only
+    }
+
+    /**
+     * Returns n choose k from the cached table, or 0 when k is outside [0, n].
+     *
+     * @param n the size of the set
+     * @param k the size of the subset
+     * @return the binomial coefficient
+     * @throws IllegalArgumentException if n is outside [0, MAX_DECK_SIZE]
+     */
+    public static double choose(int n, int k) {
+        if (n < 0 || n > MAX_DECK_SIZE) {
+            throw new IllegalArgumentException("n must be between 0 and " + MAX_DECK_SIZE);
+        }
+        if (k < 0 || k > n) {
+            return 0.0;
+        }
+        return BINOMIAL[n][k];
+    }
+
+    /**
+     * Probability of drawing exactly k copies of a card kind when drawing cardsDrawn cards from
+     * a deck of deckSize cards that holds successes copies of it.
+     *
+     * @param deckSize the number of cards in the deck
+     * @param successes the number of copies of the card kind in the deck
+     * @param cardsDrawn the number of cards drawn
+     * @param k the number of copies drawn
+     * @return the hypergeometric probability P(X = k)
+     * @throws IllegalArgumentException if the counts are inconsistent
+     */
+    public static double hypergeometric(int deckSize, int successes, int cardsDrawn, int k) {
+        checkDraw(deckSize, successes, cardsDrawn);
+        return choose(successes, k) * choose(deckSize - successes, cardsDrawn - k) / choose(deckSize, cardsDrawn);
+    }
+
+    /**
+     * Probability of drawing at least k copies of a card kind in cardsDrawn cards.
+     *
+     * @param deckSize the number of cards in the deck
+     * @param successes the number of copies of the card kind in the deck
+     * @param cardsDrawn the number of cards drawn
+     * @param k the minimum number of copies
+     * @return P(X >= k)
+     * @throws IllegalArgumentException if the counts are inconsistent
+     */
+    public static double atLeast(int deckSize, int successes, int cardsDrawn, int k) {
+        checkDraw(deckSize, successes, cardsDrawn);
+        double below = 0.0;
+        for (int i = 0; i < k; i++) {
+            below += hypergeometric(deckSize, successes, cardsDrawn, i);
+        }
+        return Math.max(0.0, 1.0 - below);
+    }
+
+    /**
+     * Probability that an opening hand contains at least one Pokémon, the quantity estimated by
+     * {@link CardGame#howManyReshufflesPerc}.
+     *
+     * @param deckSize the number of cards in the deck
+     * @param pokemon the number of Pokémon in the deck
+     * @param handSize the number of cards in the opening hand
+     * @return P(at least one Pokémon in hand)
+     */
+    public static double openingHandHasPokemon(int deckSize, int pokemon, int handSize) {
+        checkDraw(deckSize, pokemon, handSize);
+        return 1.0 - choose(deckSize - pokemon, handSize) / choose(deckSize, handSize);
+    }
+
+    /**
+     * Probability of having seen at least k Energy cards by the given turn, counting the
+     * opening hand plus one card drawn at the start of each turn.
+     *
+     * @param deckSize the number of cards in the deck
+     * @param energy the number of Energy cards in the deck
+     * @param handSize the number of cards in the opening hand
+     * @param turn the turn number, starting at 1
+     * @param k the minimum number of Energy cards
+     * @return P(at least k Energy among the first handSize + turn cards)
+     */
+    public static double energyByTurn(int deckSize, int energy, int handSize, int turn, int k) {
+        return atLeast(deckSize, energy, Math.min(deckSize, handSize + turn), k);
+    }
+
+    /**
+     * Expected number of mulligans before an opening hand contains a Pokémon. Each redraw is
+     * an independent hand, so the count is geometric with failure probability
+     * P(no Pokémon in hand).
+     *
+     * @param deckSize the number of cards in the deck
+     * @param pokemon the number of Pokémon in the deck
+     * @param handSize the number of cards in the opening hand
+     * @return the expected number of mulligans, or infinity if the deck has no Pokémon
+     */
+    public static double expectedMulligans(int deckSize, int pokemon, int handSize) {
+        double success = openingHandHasPokemon(deckSize, pokemon, handSize);
+        if (success == 0.0) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return (1.0 - success) / success;
+    }
+
+    /**
+     * Multivariate hypergeometric probability of drawing exactly drawn[i] cards of each kind i
+     * from a deck with counts[i] cards of each kind.
+     *
+     * @param counts the number of cards of each kind in the deck
+     * @param drawn the number of cards of each kind drawn
+     * @return the probability of that exact hand composition
+     * @throws IllegalArgumentException if the arrays differ in length or the deck is too large
+     */
+    public static double multivariateHypergeometric(int[] counts, int[] drawn) {
+        if (counts.length != drawn.length) {
+            throw new IllegalArgumentException("counts and drawn must have the same length");
+        }
+        int deckSize = 0;
+        int handSize = 0;
+        double ways = 1.0;
+        for (int i = 0; i < counts.length; i++) {
+            deckSize += counts[i];
+            handSize += drawn[i];
+            ways *= choose(counts[i], drawn[i]);
+        }
+        checkDraw(deckSize, 0, handSize);
+        return ways / choose(deckSize, handSize);
+    }
+
+    /**
+     * Probability that a hand of handSize cards holds at least minimums[i] cards of every kind
+     * i, summing the multivariate hypergeometric over all qualifying compositions.
+     *
+     * @param counts the number of cards of each kind in the deck
+     * @param handSize the number of cards drawn
+     * @param minimums the minimum number of each kind required
+     * @return P(every kind meets its minimum)
+     * @throws IllegalArgumentException if the arrays differ in length or the deck is too large
+     */
+    public static double atLeastEach(int[] counts, int handSize, int[] minimums) {
+        if (counts.length != minimums.length) {
+            throw new IllegalArgumentException("counts and minimums must have the same length");
+        }
+        int deckSize = 0;
+        for (int count : counts) {
+            deckSize += count;
+        }
+        checkDraw(deckSize, 0, handSize);
+        return waysAtLeast(counts, minimums, 0, handSize) / choose(deckSize, handSize);
+    }
+
+    /** Number of hands of size remaining from kinds kind.. onwards meeting their minimums. */
+    private static double waysAtLeast(int[] counts, int[] minimums, int kind, int remaining) {
+        if (kind == counts.length) {
+            return remaining == 0 ? 1.0 : 0.0;
+        }
+        double ways = 0.0;
+        int most = Math.min(counts[kind], remaining);
+        for (int k = minimums[kind]; k <= most; k++) {
+            ways += choose(counts[kind], k) * waysAtLeast(counts, minimums, kind + 1, remaining - k);
+        }
+        return ways;
+    }
+
+    /**
+     * Compares the exact opening-hand probability with the parallel Monte Carlo sweep for every
+     * Pokémon count in a 60-card deck.
+     *
+     * @param runs the number of simulated hands for each Pokémon count
+     * @param seed the seed for the simulation
+     * @return one row per Pokémon count: [pokemonCount, exactPercentage, simulatedPercentage,
+     *         ciLow, ciHigh, withinInterval], where withinInterval is 1 if the exact value lies
+     *         inside the simulation's 95% confidence interval and 0 otherwise. Rows where the
+     *         exact value is 0% or 100% are inside whenever the simulation agrees, since the
+     *         interval's bound on that side is then exactly 0% or 100%
+     */
+    public static double[][] crossCheck(int runs, long seed) {
+        double[][] simulated = new DeckCompositionSweep(seed).run(runs, 1, OpeningHandSimulator.DECK_SIZE);
+        double[][] rows = new double[simulated.length][];
+        for (int i = 0; i < simulated.length; i++) {
+            double[] sim = simulated[i];
+            double exact = openingHandHasPokemon(OpeningHandSimulator.DECK_SIZE, (int) sim[0],
+                    OpeningHandSimulator.HAND_SIZE) * 100;
+            boolean within = exact >= sim[2] && exact <= sim[3];
+            rows[i] = new double[] { sim[0], exact, sim[1], sim[2], sim[3], within ? 1.0 : 0.0 };
+        }
+        return rows;
+    }
+
+    private static void checkDraw(int deckSize, int successes, int cardsDrawn) {
+        if (deckSize < 0 || deckSize > MAX_DECK_SIZE) {
+            throw new IllegalArgumentException("Deck size must be between 0 and " + MAX_DECK_SIZE);
+        }
+        if (successes < 0 || successes > deckSize || cardsDrawn < 0 || cardsDrawn > deckSize) {
+            throw new IllegalArgumentException("Invalid card counts for a deck of " + deckSize);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * Parallel version of the {@link CardGame#monteCarlo} sweep. Every (Pokémon count, shard) pair
+ * is an independent work item with its own deck buffer and its own split random stream, and
+ * the items are run on the fork/join common pool, which balances them by work stealing.
+ *
+ * Shards have a fixed size and the streams are split in item order before anything runs, so
+ * the table depends only on the seed and the number of runs, not on the number of cores or
+ * on scheduling.
+ *
+ * Like {@link Simulation}, every work item is a {@link SimulationEvents.Batch} Flight Recorder
+ * event and every composition a {@link SimulationEvents.SweepPoint}, and item times and counts
+ * are recorded under "deckSweep" when the {@link MetricsRegistry#DEFAULT default registry} is on.
+ */
+class DeckCompositionSweep {
+
+    /** Number of hands simulated by one work item. */
+    static final int RUNS_PER_SHARD = 1 << 16;
+
+    /** Name under which the sweep's events and metrics are recorded. */
+    static final String NAME = "deckSweep";
+
+    private final long seed;
+
+    /**
+     * Constructs a sweep whose results are fully determined by the given seed.
+     *
+     * @param seed the seed from which every work item's random stream is split
+     */
+    public DeckCompositionSweep(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Estimates the percentage of opening hands with at least one Pokémon for every deck with
+     * minPokemon to maxPokemon Pokémon.
+     *
+     * @param runs the number of hands to simulate for each Pokémon count
+     * @param minPokemon the smallest Pokémon count in the sweep
+     * @param maxPokemon the largest Pokémon count in the sweep
+     * @return one row per Pokémon count: [pokemonCount, percentage, ciLow, ciHigh], where the
+     *         95% confidence interval is the Wilson score interval in percent
+     * @throws IllegalArgumentException if runs is not positive or the range is invalid
+     */
+    public double[][] run(int runs, int minPokemon, int maxPokemon) {
+        if (runs < 1) {
+            throw new IllegalArgumentException("runs must be positive");
+        }
+        if (minPokemon < 0 || maxPokemon > OpeningHandSimulator.DECK_SIZE || minPokemon > maxPokemon) {
+            throw new IllegalArgumentException("Invalid Pokémon range");
+        }
+
+        int compositions = maxPokemon - minPokemon + 1;
+        int shards = (runs + RUNS_PER_SHARD - 1) / RUNS_PER_SHARD;
+        int items = compositions * shards;
+
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom[] streams = new SplittableRandom[items];
+        for (int item = 0; item < items; item++) {
+            streams[item] = root.split();
+        }
+
+        MetricsRegistry metrics = MetricsRegistry.DEFAULT;
+        boolean recording = metrics.isEnabled();
+        MetricsRegistry.Histogram itemNanos = recording ? metrics.histogram(NAME + ".batchNanos") : null;
+
+        // Each item writes only its own slot, so no synchronization is needed
+        int[] hits = new int[items];
+        IntStream.range(0, items).parallel().forEach(item -> {
+            SimulationEvents.Batch event = new SimulationEvents.Batch();
+            event.begin();
+            long itemStart = recording ? System.nanoTime() : 0;
+            int pokemon = minPokemon + item / shards;
+            int shard = item % shards;
+            int shardRuns = Math.min(RUNS_PER_SHARD, runs - shard * RUNS_PER_SHARD);
+            hits[item] = new OpeningHandSimulator(streams[item]).countHandsWithPokemon(shardRuns, pokemon);
+            if (recording) {
+                itemNanos.record(System.nanoTime() - itemStart);
+                metrics.counter(NAME + ".trials.thread." + Thread.currentThread().getName()).add(shardRuns);
+            }
+            event.end();
+            if (event.shouldCommit()) {
+                event.simulation = NAME;
+                event.batch = item;
+                event.trials = shardRuns;
+                event.sum = hits[item];
+                event.commit();
+            }
+        });
+        if (recording) {
+            metrics.counter(NAME + ".trials").add((long) runs * compositions);
+        }
+
+        double[][] table = new double[compositions][];
+        for (int c = 0; c < compositions; c++) {
+            long successes = 0;
+            for (int shard = 0; shard < shards; shard++) {
+                successes += hits[c * shards + shard];
+            }
+            double[] ci = Simulation.wilsonInterval(successes, runs);
+            SimulationEvents.SweepPoint point = new SimulationEvents.SweepPoint();
+            if (point.shouldCommit()) {
+                point.sweep = NAME;
+                point.point = minPokemon + c;
+                point.trials = runs;
+                point.successes = successes;
+                point.rate = (double) successes / runs;
+                point.ciLow = ci[0];
+                point.ciHigh = ci[1];
+                point.commit();
+            }
+            table[c] = new double[] {
+                minPokemon + c, (double) successes / runs * 100, ci[0] * 100, ci[1] * 100
+            };
+        }
+        return table;
+    }
+}
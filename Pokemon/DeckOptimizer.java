@@ -0,0 +1,308 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+import java.util.stream.IntStream;
+
+/**
+ * Searches for the 60-card mix of Pokémon, Energy, Draw Trainer and Heal Trainer cards that
+ * maximises a success rate, such as opening hands with a Pokémon or games won.
+ *
+ * The search is coordinate descent: from the current deck it tries moving step cards from one
+ * kind to another, moves to a neighbour only when it is significantly better, and halves the
+ * step when none is. Candidates are compared by racing: every candidate gets a batch of trials,
+ * those whose 95% Wilson interval lies entirely below the leader's are dropped, and only the
+ * close contenders are sampled further, up to maxTrials each.
+ *
+ * Every estimate is kept in a memo cache keyed by composition, so a deck seen again costs
+ * nothing and later samples only add to it. Batch b of a composition always uses the same
+ * random stream, so the result depends only on the seed. Batches run on the fork/join common
+ * pool.
+ */
+class DeckOptimizer {
+
+    /** Number of card kinds in a composition, indexed by {@link CardType} code. */
+    public static final int KINDS = CardType.HEAL_TRAINER + 1;
+
+    /** Number of trials in one sampling batch. */
+    static final int BATCH = 1 << 12;
+
+    /**
+     * A success rate that can be estimated for a deck composition.
+     */
+    @FunctionalInterface
+    interface Objective {
+        /**
+         * Runs the given number of independent trials with a deck of the given composition.
+         *
+         * @param composition the number of cards of each kind, indexed by CardType code
+         * @param trials the number of trials to run
+         * @param rand the random stream for the trials
+         * @return the number of successful trials
+         */
+        long successes(int[] composition, int trials, RandomGenerator rand);
+    }
+
+    /**
+     * Returns the objective "the opening hand holds at least one Pokémon".
+     *
+     * @return the opening-hand objective
+     */
+    public static Objective openingHand() {
+        return (composition, trials, rand) -> new OpeningHandSimulator(rand)
+                .countHandsWithPokemon(trials, composition[CardType.POKEMON]);
+    }
+
+    /**
+     * Returns the objective "the first player wins a headless game". Both players draw from
+     * the same deck, so the composition decides which policy it favours.
+     *
+     * @param first the policy of the player who moves first
+     * @param second the policy of the player who moves second
+     * @return the win-rate objective
+     */
+    public static Objective firstPlayerWins(Policy first, Policy second) {
+        return firstPlayerWins(CardSet.standard(), first, second);
+    }
+
+    /**
+     * Returns the objective "the first player wins a headless game" played with a custom card
+     * set. Each card of a type in the composition is one of the set's cards of that type.
+     *
+     * @param cards the card definitions
+     * @param first the policy of the player who moves first
+     * @param second the policy of the player who moves second
+     * @return the win-rate objective
+     */
+    public static Objective firstPlayerWins(CardSet cards, Policy first, Policy second) {
+        return (composition, trials, rand) -> {
+            HeadlessGame game = new HeadlessGame(cards);
+            long wins = 0;
+            for (int t = 0; t < trials; t++) {
+                if (game.play(composition, first, second, rand) == 0) {
+                    wins++;
+                }
+            }
+            return wins;
+        };
+    }
+
+    private final Objective objective;
+    private final long seed;
+    private final int maxTrials;
+
+    /** Memo cache: packed composition to [successes, trials] */
+    private final Map<Integer, long[]> cache = new HashMap<>();
+
+    /**
+     * Constructs an optimizer for the given objective.
+     *
+     * @param objective the success rate to maximise
+     * @param seed the seed from which every batch's random stream is derived
+     * @param maxTrials the most trials spent on one composition, rounded up to a whole batch
+     * @throws IllegalArgumentException if maxTrials is not positive
+     */
+    public DeckOptimizer(Objective objective, long seed, int maxTrials) {
+        if (maxTrials < 1) {
+            throw new IllegalArgumentException("maxTrials must be positive");
+        }
+        this.objective = objective;
+        this.seed = seed;
+        this.maxTrials = (maxTrials + BATCH - 1) / BATCH * BATCH;
+    }
+
+    /**
+     * Runs coordinate descent from the given deck.
+     *
+     * @param start the starting number of cards of each kind, indexed by CardType code
+     * @param initialStep the number of cards moved between kinds in the first round
+     * @return the best composition found and its estimate, as in {@link #estimate}
+     * @throws IllegalArgumentException if start is not a valid deck or initialStep is not positive
+     */
+    public double[] optimize(int[] start, int initialStep) {
+        checkComposition(start);
+        if (initialStep < 1) {
+            throw new IllegalArgumentException("initialStep must be positive");
+        }
+
+        int[] current = start.clone();
+        int step = initialStep;
+        while (step > 0) {
+            List<int[]> candidates = new ArrayList<>();
+            candidates.add(current);
+            addNeighbours(current, step, candidates);
+
+            int[] best = race(candidates);
+            if (best == current) {
+                step /= 2;
+            } else {
+                current = best;
+            }
+        }
+        return estimate(current);
+    }
+
+    /**
+     * Returns the cached estimate for a composition, sampling it first if it has never been
+     * evaluated.
+     *
+     * @param composition the number of cards of each kind, indexed by CardType code
+     * @return [pokemon, energy, drawTrainers, healTrainers, percentage, ciLow, ciHigh, trials],
+     *         where the 95% confidence interval is the Wilson score interval in percent
+     * @throws IllegalArgumentException if composition is not a valid deck
+     */
+    public double[] estimate(int[] composition) {
+        checkComposition(composition);
+        sample(List.of(composition), BATCH);
+        long[] tally = cache.get(key(composition));
+        double[] ci = Simulation.wilsonInterval(tally[0], tally[1]);
+        double[] row = new double[KINDS + 4];
+        for (int kind = 0; kind < KINDS; kind++) {
+            row[kind] = composition[kind];
+        }
+        row[KINDS] = (double) tally[0] / tally[1] * 100;
+        row[KINDS + 1] = ci[0] * 100;
+        row[KINDS + 2] = ci[1] * 100;
+        row[KINDS + 3] = tally[1];
+        return row;
+    }
+
+    /**
+     * Returns the number of distinct compositions evaluated so far.
+     *
+     * @return the size of the memo cache
+     */
+    public int evaluations() {
+        return cache.size();
+    }
+
+    /**
+     * Races the candidates and returns the winner. The first candidate is the incumbent and is
+     * returned unless another candidate's interval lies entirely above its own.
+     */
+    private int[] race(List<int[]> candidates) {
+        List<int[]> contenders = new ArrayList<>(candidates);
+        int incumbent = key(candidates.get(0));
+        int trials = BATCH;
+        while (true) {
+            sample(contenders, trials);
+
+            int[] leader = null;
+            double leaderRate = -1;
+            for (int[] candidate : contenders) {
+                double rate = rate(candidate);
+                if (rate > leaderRate) {
+                    leader = candidate;
+                    leaderRate = rate;
+                }
+            }
+            double leaderLow = interval(leader)[0];
+            List<int[]> survivors = new ArrayList<>();
+            for (int[] candidate : contenders) {
+                if (interval(candidate)[1] >= leaderLow) {
+                    survivors.add(candidate);
+                }
+            }
+            contenders = survivors;
+
+            boolean incumbentAlive = false;
+            for (int[] candidate : contenders) {
+                incumbentAlive |= key(candidate) == incumbent;
+            }
+            if (!incumbentAlive) {
+                return leader;
+            }
+            if (contenders.size() == 1 || trials == maxTrials) {
+                return candidates.get(0);
+            }
+            trials = Math.min(trials * 2, maxTrials);
+        }
+    }
+
+    /**
+     * Brings every given composition up to at least the given number of trials, running the
+     * missing batches in parallel and adding them to the cache.
+     */
+    private void sample(List<int[]> compositions, int trials) {
+        List<int[]> work = new ArrayList<>(); // [composition index, batch index]
+        for (int c = 0; c < compositions.size(); c++) {
+            long[] tally = cache.computeIfAbsent(key(compositions.get(c)), k -> new long[2]);
+            for (long batch = tally[1] / BATCH; batch * BATCH < trials; batch++) {
+                work.add(new int[] { c, (int) batch });
+            }
+        }
+
+        // Each item writes only its own slot, so no synchronization is needed
+        long[] successes = new long[work.size()];
+        IntStream.range(0, work.size()).parallel().forEach(item -> {
+            int[] composition = compositions.get(work.get(item)[0]);
+            long stream = (long) key(composition) << 24 | work.get(item)[1];
+            successes[item] = objective.successes(composition, BATCH, Shuffler.gameStream(seed, stream));
+        });
+
+        for (int item = 0; item < work.size(); item++) {
+            long[] tally = cache.get(key(compositions.get(work.get(item)[0])));
+            tally[0] += successes[item];
+            tally[1] += BATCH;
+        }
+    }
+
+    private double rate(int[] composition) {
+        long[] tally = cache.get(key(composition));
+        return (double) tally[0] / tally[1];
+    }
+
+    private double[] interval(int[] composition) {
+        long[] tally = cache.get(key(composition));
+        return Simulation.wilsonInterval(tally[0], tally[1]);
+    }
+
+    /**
+     * Adds every deck reached by moving step cards from one kind to another. The deck always
+     * keeps at least one Pokémon.
+     */
+    private static void addNeighbours(int[] composition, int step, List<int[]> out) {
+        for (int from = 0; from < KINDS; from++) {
+            int min = from == CardType.POKEMON ? 1 : 0;
+            if (composition[from] - step < min) {
+                continue;
+            }
+            for (int to = 0; to < KINDS; to++) {
+                if (to != from) {
+                    int[] neighbour = composition.clone();
+                    neighbour[from] -= step;
+                    neighbour[to] += step;
+                    out.add(neighbour);
+                }
+            }
+        }
+    }
+
+    /** Packs a composition into 6 bits per kind; every count is at most 60. */
+    private static int key(int[] composition) {
+        int key = 0;
+        for (int kind = 0; kind < KINDS; kind++) {
+            key |= composition[kind] << (6 * kind);
+        }
+        return key;
+    }
+
+    private static void checkComposition(int[] composition) {
+        if (composition.length != KINDS) {
+            throw new IllegalArgumentException("composition needs " + KINDS + " counts");
+        }
+        int total = 0;
+        for (int count : composition) {
+            if (count < 0) {
+                throw new IllegalArgumentException("Card counts cannot be negative");
+            }
+            total += count;
+        }
+        if (total != BattleState.DECK_SIZE || composition[CardType.POKEMON] < 1) {
+            throw new IllegalArgumentException("A deck needs " + BattleState.DECK_SIZE
+                    + " cards including at least one Pokémon: " + Arrays.toString(composition));
+        }
+    }
+}
@@ -0,0 +1,149 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * A pile of cards to draw from, backed by an array. The cards still in the pile occupy the
+ * front of the array and drawn cards are kept behind them, so every draw is O(1) and the pile
+ * can be restored for another game in O(1) with {@link #reset()}.
+ *
+ * Shuffling is lazy: {@link #shuffle()} only marks the pile as shuffled, and each later draw
+ * from the top picks a uniformly random remaining card, which is one step of a Fisher–Yates
+ * shuffle. Cards that are never drawn are never shuffled.
+ */
+class DrawPile {
+
+    private static final int DEFAULT_CAPACITY = 60;
+
+    private Card[] cards;
+    private int size;
+    private int total;
+    private boolean shuffled;
+    private final RandomGenerator rand;
+
+    /**
+     * Constructs an empty draw pile.
+     *
+     * @param rand the random number generator used for shuffling and random draws
+     */
+    public DrawPile(RandomGenerator rand) {
+        this.cards = new Card[DEFAULT_CAPACITY];
+        this.rand = rand;
+    }
+
+    /**
+     * Adds a card to the pile. If the pile has been shuffled the card simply joins the cards
+     * that later draws pick from at random.
+     *
+     * @param card the card to add
+     */
+    public void add(Card card) {
+        if (total == cards.length) {
+            cards = Arrays.copyOf(cards, total * 2);
+        }
+        // Keep drawn cards behind the pile
+        cards[total] = cards[size];
+        cards[size] = card;
+        size++;
+        total++;
+    }
+
+    /**
+     * Draws the top card. On a shuffled pile the top card is a uniformly random remaining card.
+     *
+     * @return the drawn card, or null if the pile is empty
+     */
+    public Card drawTop() {
+        if (size == 0) {
+            return null;
+        }
+        if (shuffled) {
+            swap(rand.nextInt(size), size - 1);
+        }
+        return cards[--size];
+    }
+
+    /**
+     * Draws a uniformly random card by swapping it with the last card in the pile.
+     *
+     * @return the drawn card, or null if the pile is empty
+     */
+    public Card drawRandom() {
+        if (size == 0) {
+            return null;
+        }
+        swap(rand.nextInt(size), size - 1);
+        return cards[--size];
+    }
+
+    /**
+     * Marks the pile as shuffled. No cards are moved until they are drawn.
+     */
+    public void shuffle() {
+        shuffled = true;
+    }
+
+    /**
+     * Shuffles the cards left in the pile right away with an unbiased Fisher–Yates shuffle,
+     * using the given generator instead of the pile's own. Later draws from the top then follow
+     * the shuffled order, so the whole draw sequence is determined by that generator.
+     *
+     * @param generator the generator to shuffle with
+     */
+    public void shuffle(RandomGenerator generator) {
+        Shuffler.shuffle(cards, 0, size, generator);
+        shuffled = false;
+    }
+
+    /**
+     * Returns every card drawn since the last {@link #clear()} to the pile. The pile stays
+     * shuffled if it was, so the next game draws a fresh random order.
+     */
+    public void reset() {
+        size = total;
+    }
+
+    /**
+     * Removes every card, including drawn ones, and marks the pile as unshuffled.
+     */
+    public void clear() {
+        Arrays.fill(cards, 0, total, null);
+        size = 0;
+        total = 0;
+        shuffled = false;
+    }
+
+    /**
+     * Returns the number of cards left to draw.
+     *
+     * @return the number of cards in the pile
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks if the pile has no cards left to draw.
+     *
+     * @return true if the pile is empty; false otherwise
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns a copy of the cards left to draw, bottom first.
+     *
+     * @return a list of the cards in the pile
+     */
+    public List<Card> toList() {
+        return new ArrayList<>(Arrays.asList(cards).subList(0, size));
+    }
+
+    private void swap(int i, int j) {
+        Card temp = cards[i];
+        cards[i] = cards[j];
+        cards[j] = temp;
+    }
+}
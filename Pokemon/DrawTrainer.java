@@ -1,5 +1,3 @@
-import java.util.ArrayList;
-
 /**
  * Represents a Draw Trainer card in the card game. A Draw Trainer allows the player
  * to draw a specified number of cards from the deck when used.
@@ -21,25 +19,39 @@ class DrawTrainer extends Trainer {
 
     /**
      * Uses the Draw Trainer card to draw cards from the deck and add them to the player's hand.
-     * If the deck does not have enough cards, it prints a message and does not draw any cards.
+     * If the deck does not have enough cards, it reports this and does not draw any cards.
      *
      * @param player The player who uses the card.
      * @param deck   The deck from which cards will be drawn.
+     * @param events The sink that receives what happened.
      */
-    public void use(Player player, ArrayList<Card> deck) {
+    public void use(Player player, DrawPile deck, EventSink events) {
         if (deck.size() < cardsToDraw) {
-            System.out.println("Not enough cards in the deck to draw!");
+            if (events.isEnabled()) {
+                events.accept(new GameEvent.Rejected(player.getName(), GameEvent.Reason.NOT_ENOUGH_CARDS));
+            }
             return;
         }
 
         for (int i = 0; i < cardsToDraw; i++) {
-            Card drawnCard = deck.remove(0); // Draw from the top of the deck
+            Card drawnCard = deck.drawTop(); // Draw from the top of the deck
             player.drawCard(drawnCard);
-            System.out.println(player.getName() + " uses " + this + ". " +
-                    drawnCard + " has been drawn.");
+            if (events.isEnabled()) {
+                events.accept(new GameEvent.CardDrawn(player.getName(), this, drawnCard));
+            }
         }
     }
 
+    /**
+     * Returns the card-type code for Draw Trainer cards.
+     *
+     * @return CardType.DRAW_TRAINER
+     */
+    @Override
+    public byte getType() {
+        return CardType.DRAW_TRAINER;
+    }
+
     /**
      * Returns a string representation of the Draw Trainer card, including its name
      * and the number of cards it allows the player to draw.
@@ -3,6 +3,11 @@ class Energy extends Card {
         super(name);
     }
 
+    @Override
+    public byte getType() {
+        return CardType.ENERGY;
+    }
+
     @Override
     public String toString() {
         return name;
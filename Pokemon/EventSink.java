@@ -0,0 +1,22 @@
+/**
+ * Receives {@link GameEvent}s from the game. Callers check {@link #isEnabled()} before building
+ * an event, so a disabled sink costs one call and no allocation.
+ */
+interface EventSink {
+
+    /**
+     * Receives an event.
+     *
+     * @param event the event
+     */
+    void accept(GameEvent event);
+
+    /**
+     * Returns whether the sink wants events at all.
+     *
+     * @return false if events would be discarded
+     */
+    default boolean isEnabled() {
+        return true;
+    }
+}
@@ -0,0 +1,106 @@
+/**
+ * Something that happened during a game. Events are small immutable records holding the raw
+ * values; nothing is formatted until a sink that actually shows the event calls
+ * {@link #describe()}.
+ */
+sealed interface GameEvent {
+
+    /**
+     * Formats the event as the line the console version of the game prints.
+     *
+     * @return a human-readable description of the event
+     */
+    String describe();
+
+    /** A player's turn began; the hand is a snapshot taken when the turn started. */
+    record TurnStarted(String player, Card[] hand, String activePokemon) implements GameEvent {
+        @Override
+        public String describe() {
+            StringBuilder text = new StringBuilder(player).append("'s turn.\n");
+            text.append(player).append("'s Hand:\n");
+            for (Card card : hand) {
+                text.append(card.toString()).append(" | ");
+            }
+            text.append("\n");
+            text.append("Active Pokémon: ").append(activePokemon != null ? activePokemon : "None");
+            return text.toString();
+        }
+    }
+
+    /** A Pokémon attacked the opponent's active Pokémon. */
+    record MoveUsed(String player, String move, int damage, String target) implements GameEvent {
+        @Override
+        public String describe() {
+            return player + " uses " + move + " dealing " + damage + " damage to " + target + ".";
+        }
+    }
+
+    /** A Draw Trainer moved a card from the deck into the player's hand. */
+    record CardDrawn(String player, Trainer trainer, Card card) implements GameEvent {
+        @Override
+        public String describe() {
+            return player + " uses " + trainer + ". " + card + " has been drawn.";
+        }
+    }
+
+    /** A Heal Trainer restored hit points to the player's active Pokémon. */
+    record Healed(String player, Trainer trainer, String pokemon, int amount) implements GameEvent {
+        @Override
+        public String describe() {
+            return player + " uses " + trainer + ". " + pokemon + " heals for " + amount + " HP.";
+        }
+    }
+
+    /** A Pokémon's hit points reached zero. */
+    record Fainted(String pokemon) implements GameEvent {
+        @Override
+        public String describe() {
+            return pokemon + " has fainted!";
+        }
+    }
+
+    /** A player has no Pokémon left and loses. */
+    record OutOfPokemon(String player) implements GameEvent {
+        @Override
+        public String describe() {
+            return player + " has no Pokémon left!";
+        }
+    }
+
+    /** The game ended. */
+    record GameOver() implements GameEvent {
+        @Override
+        public String describe() {
+            return "Game Over!";
+        }
+    }
+
+    /** An action could not be carried out; the reason is one of the fixed messages below. */
+    record Rejected(String player, Reason reason) implements GameEvent {
+        @Override
+        public String describe() {
+            return reason.message(player);
+        }
+    }
+
+    /** Why an action was rejected. */
+    enum Reason {
+        INVALID_ACTION("Invalid action selection."),
+        INVALID_MOVE("Invalid move selection."),
+        INVALID_CARD("Invalid card selection."),
+        NOT_A_TRAINER("Selected card is not a Trainer card."),
+        NOT_ENOUGH_CARDS("Not enough cards in the deck to draw!"),
+        NO_ACTIVE_POKEMON("%s has no active Pokémon left!"),
+        NOTHING_TO_HEAL("%s has no active Pokémon to heal!");
+
+        private final String template;
+
+        Reason(String template) {
+            this.template = template;
+        }
+
+        String message(String player) {
+            return template.contains("%s") ? String.format(template, player) : template;
+        }
+    }
+}
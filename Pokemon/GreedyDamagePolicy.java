@@ -0,0 +1,12 @@
+import java.util.random.RandomGenerator;
+
+/**
+ * Always attacks with the active Pokémon's strongest move.
+ */
+class GreedyDamagePolicy implements Policy {
+
+    @Override
+    public int choose(TurnView view, RandomGenerator rand) {
+        return Policy.attack(view.cards().strongestMove(view.activeId()));
+    }
+}
@@ -0,0 +1,191 @@
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * Plays complete two-player games with the rules of {@link CardGame#playGame}, without a
+ * Scanner and without printing. Decisions come from a {@link Policy} for each player, and the
+ * game itself is a {@link BattleState} that is reused from game to game.
+ *
+ * Games played from a seed and a game index can be recorded with a {@link ReplayRecorder}
+ * and rebuilt exactly from the log. Such a game draws its cards from
+ * {@link Shuffler#gameStream} and gives the policies a stream split from it, so replaying the
+ * recorded actions reproduces every draw without calling the policies again.
+ *
+ * An instance is not thread-safe; a batch run gives every thread its own.
+ */
+class HeadlessGame {
+
+    /** Result of a drawn game. */
+    public static final int DRAW = BattleState.DRAW;
+
+    private final BattleState state;
+
+    /**
+     * Constructs a game that plays with the standard card set.
+     */
+    public HeadlessGame() {
+        this(CardSet.standard());
+    }
+
+    /**
+     * Constructs a game that plays with the given card set.
+     *
+     * @param cards the card definitions
+     */
+    public HeadlessGame(CardSet cards) {
+        state = new BattleState(cards);
+    }
+
+    /**
+     * Plays one game to completion.
+     *
+     * @param pokemonInDeck the number of Pokémon in the deck
+     * @param first the policy of the player who moves first
+     * @param second the policy of the player who moves second
+     * @param rand the generator for deck filling, draws and random policies
+     * @return 0 if the first player wins, 1 if the second player wins, or DRAW
+     */
+    public int play(int pokemonInDeck, Policy first, Policy second, RandomGenerator rand) {
+        state.deal(pokemonInDeck, rand);
+        return finish(first, second, rand);
+    }
+
+    /**
+     * Plays one game to completion with a deck of exact composition.
+     *
+     * @param composition the number of cards of each {@link CardType} from POKEMON to HEAL_TRAINER
+     * @param first the policy of the player who moves first
+     * @param second the policy of the player who moves second
+     * @param rand the generator for Pokémon species, draws and random policies
+     * @return 0 if the first player wins, 1 if the second player wins, or DRAW
+     * @see BattleState#deal(int[], RandomGenerator)
+     */
+    public int play(int[] composition, Policy first, Policy second, RandomGenerator rand) {
+        state.deal(composition, rand);
+        return finish(first, second, rand);
+    }
+
+    /**
+     * Plays one game to completion in which each player draws from a deck of their own.
+     *
+     * @param firstDeck the composition of the first player's deck
+     * @param secondDeck the composition of the second player's deck
+     * @param first the policy of the player who moves first
+     * @param second the policy of the player who moves second
+     * @param rand the generator for card choices, draws and random policies
+     * @return 0 if the first player wins, 1 if the second player wins, or DRAW
+     * @see BattleState#deal(int[], int[], RandomGenerator)
+     */
+    public int play(int[] firstDeck, int[] secondDeck, Policy first, Policy second, RandomGenerator rand) {
+        state.deal(firstDeck, secondDeck, rand);
+        return finish(first, second, rand);
+    }
+
+    /**
+     * Plays one game from a seed and a game index, recording it if a recorder is given.
+     *
+     * @param pokemonInDeck the number of Pokémon in the deck
+     * @param first the policy of the player who moves first
+     * @param second the policy of the player who moves second
+     * @param seed the run's seed
+     * @param gameIndex the index of the game within the run
+     * @param log the recorder for the game, or null
+     * @return 0 if the first player wins, 1 if the second player wins, or DRAW
+     */
+    public int play(int pokemonInDeck, Policy first, Policy second, long seed, long gameIndex, ReplayRecorder log) {
+        SplittableRandom cards = Shuffler.gameStream(seed, gameIndex);
+        SplittableRandom choices = cards.split();
+        if (log != null) {
+            log.beginGame(gameIndex, pokemonInDeck);
+        }
+        state.deal(pokemonInDeck, cards);
+        return finish(first, second, cards, choices, log);
+    }
+
+    /**
+     * Plays one game between two decks from a seed and a game index, recording it if a
+     * recorder is given.
+     *
+     * @param firstDeck the composition of the first player's deck
+     * @param secondDeck the composition of the second player's deck
+     * @param first the policy of the player who moves first
+     * @param second the policy of the player who moves second
+     * @param seed the run's seed
+     * @param gameIndex the index of the game within the run
+     * @param log the recorder for the game, or null
+     * @return 0 if the first player wins, 1 if the second player wins, or DRAW
+     */
+    public int play(int[] firstDeck, int[] secondDeck, Policy first, Policy second, long seed, long gameIndex,
+            ReplayRecorder log) {
+        SplittableRandom cards = Shuffler.gameStream(seed, gameIndex);
+        SplittableRandom choices = cards.split();
+        if (log != null) {
+            log.beginGame(gameIndex, firstDeck, secondDeck);
+        }
+        state.deal(firstDeck, secondDeck, cards);
+        return finish(first, second, cards, choices, log);
+    }
+
+    /**
+     * Rebuilds the reader's current game by dealing it again and applying its recorded actions.
+     * The game must have been played with the same card set.
+     *
+     * @param reader a replay log positioned on a game
+     * @return the result of the rebuilt game, which matches {@link ReplayReader#winner()} when
+     *         the log and the engine agree
+     */
+    public int replay(ReplayReader reader) {
+        SplittableRandom cards = Shuffler.gameStream(reader.seed(), reader.gameIndex());
+        cards.split(); // the policies' stream, consumed as in play
+        if (reader.mode() == ReplayRecorder.SHARED_PILE) {
+            state.deal(reader.pokemonInDeck(), cards);
+        } else {
+            state.deal(reader.firstDeck(), reader.secondDeck(), cards);
+        }
+        for (int turn = 0; turn < reader.actionCount() && state.winner() == BattleState.IN_PROGRESS; turn++) {
+            state.apply(reader.action(turn), cards);
+        }
+        return state.winner();
+    }
+
+    /**
+     * Returns the state of the last game played or replayed. It is overwritten by the next game.
+     *
+     * @return the game state
+     */
+    public BattleState getState() {
+        return state;
+    }
+
+    private int finish(Policy first, Policy second, RandomGenerator cards, RandomGenerator choices, ReplayRecorder log) {
+        while (state.winner() == BattleState.IN_PROGRESS) {
+            Policy policy = state.currentPlayer() == 0 ? first : second;
+            int action = policy.choose(state, choices);
+            if (log != null) {
+                log.action(action);
+            }
+            state.apply(action, cards);
+        }
+        if (log != null) {
+            log.endGame(state.winner());
+        }
+        return state.winner();
+    }
+
+    private int finish(Policy first, Policy second, RandomGenerator rand) {
+        while (state.winner() == BattleState.IN_PROGRESS) {
+            Policy policy = state.currentPlayer() == 0 ? first : second;
+            state.apply(policy.choose(state, rand), rand);
+        }
+        return state.winner();
+    }
+
+    /**
+     * Returns the number of turns played in the last game.
+     *
+     * @return the number of turns
+     */
+    public int getTurns() {
+        return state.turns();
+    }
+}
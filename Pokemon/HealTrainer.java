@@ -6,16 +6,28 @@ class HealTrainer extends Trainer {
 	        this.healingAmount = healingAmount;
 	    }
 
-	    public void use(Player player) {
+	    public void use(Player player, EventSink events) {
 	        Pokemon activePokemon = player.getActivePokemon();
 	        if (activePokemon != null) {
 	            activePokemon.heal(healingAmount);
-	            System.out.println(player.getName() + " uses " + this + ". " +
-	                    activePokemon.getName() + " heals for " + healingAmount + " HP.");
-	        } else {
-	            System.out.println(player.getName() + " has no active Pokémon to heal!");
+	            if (events.isEnabled()) {
+	                events.accept(new GameEvent.Healed(player.getName(), this, activePokemon.getName(), healingAmount));
+	            }
+	        } else if (events.isEnabled()) {
+	            events.accept(new GameEvent.Rejected(player.getName(), GameEvent.Reason.NOTHING_TO_HEAL));
 	        }
 	    }
+
+    /**
+     * Returns the card-type code for Heal Trainer cards.
+     *
+     * @return CardType.HEAL_TRAINER
+     */
+    @Override
+    public byte getType() {
+        return CardType.HEAL_TRAINER;
+    }
+
     @Override
     public String toString() {
         return "Heal Trainer: " + getName() + " (Heals " + healingAmount + ")";
@@ -0,0 +1,32 @@
+import java.util.random.RandomGenerator;
+
+/**
+ * Plays a Heal Trainer when the active Pokémon is at or below a hit-point threshold and one is
+ * in hand; otherwise attacks with the strongest move.
+ */
+class HealWhenLowPolicy implements Policy {
+
+    private final int threshold;
+
+    /**
+     * Constructs a policy that heals at or below the given hit points.
+     *
+     * @param threshold the hit points at or below which the policy heals
+     */
+    public HealWhenLowPolicy(int threshold) {
+        this.threshold = threshold;
+    }
+
+    @Override
+    public int choose(TurnView view, RandomGenerator rand) {
+        CardSet cards = view.cards();
+        if (view.activeHitPoints() <= threshold) {
+            for (int i = 0; i < view.handSize(); i++) {
+                if (cards.type(view.handCardId(i)) == CardType.HEAL_TRAINER) {
+                    return Policy.playTrainer(i);
+                }
+            }
+        }
+        return Policy.attack(cards.strongestMove(view.activeId()));
+    }
+}
@@ -0,0 +1,101 @@
+import java.util.random.RandomGenerator;
+
+/**
+ * Monte Carlo search for the best action in a {@link BattleState}. Each iteration picks a root
+ * action by UCB1, plays it and a fast rollout to the end of the game on a journaled copy of the
+ * state, and then undoes everything back to the root. When the time budget runs out the
+ * most-visited action is chosen.
+ *
+ * An instance keeps a reusable search state and is not thread-safe.
+ */
+class MoveSearch {
+
+    /** Iterations run even when the time budget is already used up. */
+    static final int MIN_ITERATIONS = 32;
+
+    /** UCB1 exploration constant, sqrt(2) for rewards in [0, 1]. */
+    static final double EXPLORATION = Math.sqrt(2.0);
+
+    /** Chance that a rollout move is random instead of the heal-when-low heuristic. */
+    static final double ROLLOUT_RANDOMNESS = 0.25;
+
+    private static final Policy RANDOM = new RandomPolicy();
+    private static final Policy HEURISTIC = new HealWhenLowPolicy(20);
+
+    private final long budgetNanos;
+    private final BattleState sim = new BattleState();
+    private final int[] actions = new int[BattleState.DECK_SIZE + 2];
+
+    /**
+     * Constructs a search with the given time budget per decision.
+     *
+     * @param budgetMillis the time to search for each move, in milliseconds
+     */
+    public MoveSearch(long budgetMillis) {
+        this.budgetNanos = budgetMillis * 1_000_000L;
+    }
+
+    /**
+     * Chooses an action for the player to move in the given state.
+     *
+     * @param root the state to search from; it is not modified
+     * @param rand the generator for rollouts
+     * @return the encoded action, see {@link Policy}
+     */
+    public int choose(BattleState root, RandomGenerator rand) {
+        int count = root.legalActions(actions);
+        if (count == 1) {
+            return actions[0];
+        }
+
+        long deadline = System.nanoTime() + budgetNanos;
+        int me = root.currentPlayer();
+        double[] rewards = new double[count];
+        int[] visits = new int[count];
+        sim.copyFrom(root);
+        sim.setJournaling(true);
+
+        int total = 0;
+        while (total < MIN_ITERATIONS || System.nanoTime() < deadline) {
+            int pick = select(rewards, visits, total, count);
+            int mark = sim.mark();
+            sim.apply(actions[pick], rand);
+            while (sim.winner() == BattleState.IN_PROGRESS) {
+                Policy rollout = rand.nextDouble() < ROLLOUT_RANDOMNESS ? RANDOM : HEURISTIC;
+                sim.apply(rollout.choose(sim, rand), rand);
+            }
+            int winner = sim.winner();
+            rewards[pick] += winner == me ? 1.0 : winner == BattleState.DRAW ? 0.5 : 0.0;
+            visits[pick]++;
+            total++;
+            sim.undo(mark);
+        }
+        sim.setJournaling(false);
+
+        int best = 0;
+        for (int a = 1; a < count; a++) {
+            if (visits[a] > visits[best]) {
+                best = a;
+            }
+        }
+        return actions[best];
+    }
+
+    /** Tries every action once, then picks the one with the highest UCB1 score. */
+    private static int select(double[] rewards, int[] visits, int total, int count) {
+        int best = 0;
+        double bestScore = Double.NEGATIVE_INFINITY;
+        double logTotal = Math.log(total);
+        for (int a = 0; a < count; a++) {
+            if (visits[a] == 0) {
+                return a;
+            }
+            double score = rewards[a] / visits[a] + EXPLORATION * Math.sqrt(logTotal / visits[a]);
+            if (score > bestScore) {
+                bestScore = score;
+                best = a;
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,181 @@
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+import java.util.stream.IntStream;
+
+/**
+ * Simulates the full mulligan loop: a player whose opening hand has no Pokémon reveals it,
+ * reshuffles, and draws a new hand, and the opponent may draw one extra card for every
+ * mulligan. Each trial keeps going until a hand contains a Pokémon and records how many
+ * mulligans that took.
+ *
+ * Work is split into (Pokémon count, shard) items exactly like {@link DeckCompositionSweep},
+ * so the histograms depend only on the seed and the number of trials. The deck buffer is
+ * reused per thread, and a hand stops drawing as soon as it finds a Pokémon.
+ */
+class MulliganSimulator {
+
+    /** Number of trials simulated by one work item. */
+    static final int TRIALS_PER_SHARD = 1 << 16;
+
+    /** Mulligan counts at or above this value share the last histogram bucket. */
+    static final int MAX_TRACKED = 63;
+
+    private static final ThreadLocal<byte[]> DECK =
+            ThreadLocal.withInitial(() -> new byte[OpeningHandSimulator.DECK_SIZE]);
+
+    private final long seed;
+
+    /**
+     * Constructs a simulator whose results are fully determined by the given seed.
+     *
+     * @param seed the seed from which every work item's random stream is split
+     */
+    public MulliganSimulator(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Simulates the mulligan loop for every deck with minPokemon to maxPokemon Pokémon.
+     *
+     * @param trials the number of opening sequences to simulate for each Pokémon count
+     * @param minPokemon the smallest Pokémon count, at least 1
+     * @param maxPokemon the largest Pokémon count
+     * @return one histogram per Pokémon count, where element m is the number of trials that
+     *         needed exactly m mulligans and element MAX_TRACKED counts MAX_TRACKED or more
+     * @throws IllegalArgumentException if trials is not positive or the range is invalid
+     */
+    public long[][] distribution(int trials, int minPokemon, int maxPokemon) {
+        return simulate(trials, minPokemon, maxPokemon, null);
+    }
+
+    /**
+     * Simulates the mulligan loop and summarises it for every deck with minPokemon to
+     * maxPokemon Pokémon.
+     *
+     * @param trials the number of opening sequences to simulate for each Pokémon count
+     * @param minPokemon the smallest Pokémon count, at least 1
+     * @param maxPokemon the largest Pokémon count
+     * @return one row per Pokémon count: [pokemonCount, meanMulligans, exactMeanMulligans,
+     *         P(0), P(1), P(2), P(3 or more), maxMulligans], with probabilities in percent and
+     *         maxMulligans capped at MAX_TRACKED.
+     *         The mean is also the expected number of extra cards the opponent draws.
+     * @throws IllegalArgumentException if trials is not positive or the range is invalid
+     */
+    public double[][] run(int trials, int minPokemon, int maxPokemon) {
+        long[] totals = new long[maxPokemon - minPokemon + 1];
+        long[][] histograms = simulate(trials, minPokemon, maxPokemon, totals);
+
+        double[][] table = new double[histograms.length][];
+        for (int c = 0; c < histograms.length; c++) {
+            long[] histogram = histograms[c];
+            int pokemon = minPokemon + c;
+            int max = histogram.length - 1;
+            while (histogram[max] == 0) {
+                max--;
+            }
+            long threeOrMore = trials - histogram[0] - histogram[1] - histogram[2];
+            table[c] = new double[] {
+                pokemon,
+                (double) totals[c] / trials,
+                DeckAnalytics.expectedMulligans(OpeningHandSimulator.DECK_SIZE, pokemon, OpeningHandSimulator.HAND_SIZE),
+                (double) histogram[0] / trials * 100,
+                (double) histogram[1] / trials * 100,
+                (double) histogram[2] / trials * 100,
+                (double) threeOrMore / trials * 100,
+                max
+            };
+        }
+        return table;
+    }
+
+    /**
+     * Runs every work item and merges the per-item histograms.
+     *
+     * @param totals if not null, receives the total number of mulligans per Pokémon count
+     */
+    private long[][] simulate(int trials, int minPokemon, int maxPokemon, long[] totals) {
+        if (trials < 1) {
+            throw new IllegalArgumentException("trials must be positive");
+        }
+        if (minPokemon < 1 || maxPokemon > OpeningHandSimulator.DECK_SIZE || minPokemon > maxPokemon) {
+            throw new IllegalArgumentException("Invalid Pokémon range");
+        }
+
+        int compositions = maxPokemon - minPokemon + 1;
+        int shards = (trials + TRIALS_PER_SHARD - 1) / TRIALS_PER_SHARD;
+        int items = compositions * shards;
+
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom[] streams = new SplittableRandom[items];
+        for (int item = 0; item < items; item++) {
+            streams[item] = root.split();
+        }
+
+        // Each item writes only its own row and slot, so no synchronization is needed
+        long[][] counts = new long[items][MAX_TRACKED + 1];
+        long[] sums = new long[items];
+        IntStream.range(0, items).parallel().forEach(item -> {
+            int pokemon = minPokemon + item / shards;
+            int shard = item % shards;
+            int shardTrials = Math.min(TRIALS_PER_SHARD, trials - shard * TRIALS_PER_SHARD);
+            sums[item] = simulateShard(streams[item], pokemon, shardTrials, counts[item]);
+        });
+
+        long[][] histograms = new long[compositions][MAX_TRACKED + 1];
+        for (int item = 0; item < items; item++) {
+            int c = item / shards;
+            for (int m = 0; m <= MAX_TRACKED; m++) {
+                histograms[c][m] += counts[item][m];
+            }
+            if (totals != null) {
+                totals[c] += sums[item];
+            }
+        }
+        return histograms;
+    }
+
+    /**
+     * Simulates one shard on the calling thread's deck buffer.
+     *
+     * @return the total number of mulligans over the shard
+     */
+    private static long simulateShard(RandomGenerator rand, int pokemon, int trials, long[] histogram) {
+        byte[] deck = DECK.get();
+        // Only Pokémon matter for the mulligan rule, so the rest of the deck is left as filler
+        for (int i = 0; i < deck.length; i++) {
+            deck[i] = i < pokemon ? CardType.POKEMON : CardType.ENERGY;
+        }
+        long total = 0;
+        for (int t = 0; t < trials; t++) {
+            int mulligans = mulligans(deck, rand);
+            histogram[Math.min(mulligans, MAX_TRACKED)]++;
+            total += mulligans;
+        }
+        return total;
+    }
+
+    /**
+     * Counts the mulligans before a hand with a Pokémon is drawn. Each hand is a partial
+     * Fisher–Yates shuffle of the deck that stops at the first Pokémon; because every step picks
+     * uniformly among the cards not yet drawn, the next hand is a fresh uniform draw whatever
+     * order the previous one left the deck in, so no refill or full reshuffle is needed.
+     *
+     * @param deck a deck holding at least one Pokémon
+     * @param rand the random number generator
+     * @return the number of mulligans
+     */
+    static int mulligans(byte[] deck, RandomGenerator rand) {
+        int size = deck.length;
+        for (int mulligans = 0; ; mulligans++) {
+            for (int i = 0; i < OpeningHandSimulator.HAND_SIZE; i++) {
+                int j = i + rand.nextInt(size - i);
+                byte card = deck[j];
+                deck[j] = deck[i];
+                deck[i] = card;
+                if (card == CardType.POKEMON) {
+                    return mulligans;
+                }
+            }
+        }
+    }
+}
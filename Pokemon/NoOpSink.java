@@ -0,0 +1,22 @@
+/**
+ * Discards every event. Because {@link #isEnabled()} is false, callers skip building events
+ * entirely.
+ */
+final class NoOpSink implements EventSink {
+
+    /** The shared instance. */
+    public static final NoOpSink INSTANCE = new NoOpSink();
+
+    private NoOpSink() {
+    }
+
+    @Override
+    public void accept(GameEvent event) {
+        // Discarded
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return false;
+    }
+}
@@ -0,0 +1,111 @@
+import java.util.random.RandomGenerator;
+
+/**
+ * Allocation-free simulator for opening hands. The deck is a reusable byte array of
+ * {@link CardType} codes and each hand is drawn with a partial Fisher–Yates shuffle, so a
+ * run touches only seven array slots and allocates nothing.
+ */
+class OpeningHandSimulator {
+
+    public static final int DECK_SIZE = 60;
+    public static final int HAND_SIZE = 7;
+
+    private final byte[] deck = new byte[DECK_SIZE];
+    private final RandomGenerator rand;
+
+    /**
+     * Constructs a simulator that draws from the given random number generator.
+     *
+     * @param rand the random number generator used to fill the deck and draw hands
+     */
+    public OpeningHandSimulator(RandomGenerator rand) {
+        this.rand = rand;
+    }
+
+    /**
+     * Fills the deck with the specified number of Pokémon; the remaining slots are picked
+     * at random among Energy, Draw Trainer and Heal Trainer cards, as in {@link CardGame#fillDeck}.
+     *
+     * @param howManyPokemon the number of Pokémon in the deck
+     * @throws IllegalArgumentException if howManyPokemon is not between 0 and DECK_SIZE
+     */
+    public void fillDeck(int howManyPokemon) {
+        if (howManyPokemon < 0 || howManyPokemon > DECK_SIZE) {
+            throw new IllegalArgumentException("Number of Pokémon must be between 0 and " + DECK_SIZE);
+        }
+        for (int i = 0; i < DECK_SIZE; i++) {
+            deck[i] = i < howManyPokemon ? CardType.POKEMON : (byte) (CardType.ENERGY + rand.nextInt(3));
+        }
+    }
+
+    /**
+     * Draws a 7-card hand with a partial Fisher–Yates shuffle: the first seven slots of the deck
+     * become the hand. The deck stays a permutation of the same cards, so the next hand can be
+     * drawn straight away without refilling.
+     *
+     * @return the number of Pokémon in the hand
+     */
+    public int drawHand() {
+        int pokemonInHand = 0;
+        for (int i = 0; i < HAND_SIZE; i++) {
+            int j = i + rand.nextInt(DECK_SIZE - i);
+            byte card = deck[j];
+            deck[j] = deck[i];
+            deck[i] = card;
+            if (card == CardType.POKEMON) {
+                pokemonInHand++;
+            }
+        }
+        return pokemonInHand;
+    }
+
+    /**
+     * Draws a 7-card hand from a deck with the given number of Pokémon, card by card: each
+     * card is a Pokémon with probability equal to the share of Pokémon among the cards left.
+     * This needs no deck at all, so trials running on many threads share nothing, and it
+     * stops at the first Pokémon.
+     *
+     * @param pokemonInDeck the number of Pokémon in the 60-card deck
+     * @param rand the random number generator for the draws
+     * @return true if the hand holds at least one Pokémon
+     */
+    public static boolean handHasPokemon(int pokemonInDeck, RandomGenerator rand) {
+        for (int i = 0; i < HAND_SIZE; i++) {
+            if (rand.nextInt(DECK_SIZE - i) < pokemonInDeck) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Simulates the specified number of opening hands and returns how often the hand
+     * contained at least one Pokémon. Equivalent to {@link CardGame#howManyReshufflesPerc}.
+     *
+     * @param runs the number of hands to draw
+     * @param numOfPokemon the number of Pokémon in the deck
+     * @return the percentage of hands with at least one Pokémon
+     */
+    public double howManyReshufflesPerc(int runs, int numOfPokemon) {
+        return (double) countHandsWithPokemon(runs, numOfPokemon) / (double) runs * 100;
+    }
+
+    /**
+     * Simulates the specified number of opening hands and counts those containing at least
+     * one Pokémon.
+     *
+     * @param runs the number of hands to draw
+     * @param numOfPokemon the number of Pokémon in the deck
+     * @return the number of hands with at least one Pokémon
+     */
+    public int countHandsWithPokemon(int runs, int numOfPokemon) {
+        fillDeck(numOfPokemon);
+        int count = 0;
+        for (int i = 0; i < runs; i++) {
+            if (drawHand() > 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
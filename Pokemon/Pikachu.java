@@ -10,9 +10,7 @@ class Pikachu extends Pokemon {
      * and two moves: "Thunder Shock" and "Quick Attack".
      */
     public Pikachu() {
-        super("Pikachu", 60, new Move[]{
-            new Move("Thunder Shock", 20), //Move 1: Thunder Shock
-            new Move("Quick Attack", 10) //Move 2: Quick Attack
-        });
+        super(CardCatalog.name(CardCatalog.PIKACHU), CardCatalog.hitPoints(CardCatalog.PIKACHU),
+                CardCatalog.moves(CardCatalog.PIKACHU));
     }
 }
@@ -1,15 +1,25 @@
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 /**
  * Represents a player in the card game. Each player has a name, a hand of cards,
  * and an active Pokémon. The player can draw cards, play cards from their hand, 
  * and use Trainer cards.
+ *
+ * The player keeps a count of each card type in hand, a bitmask of the types present and the
+ * index of the first Pokémon, all updated as cards enter and leave the hand, so that hand
+ * queries do not have to scan it.
  */
 class Player {
 
     private String name;
     private ArrayList<Card> hand;
+    private List<Card> handView;
     private Pokemon activePokemon;
+    private final int[] typeCounts = new int[CardType.COUNT];
+    private int typeMask;
+    private int firstPokemonIndex = -1;
 
     /**
      * Constructs a Player with the specified name.
@@ -19,6 +29,7 @@ class Player {
     public Player(String name) {
         this.name = name;
         this.hand = new ArrayList<>();
+        this.handView = Collections.unmodifiableList(hand);
     }
 
     /**
@@ -31,12 +42,42 @@ class Player {
     }
 
     /**
-     * Returns the player's hand of cards.
+     * Returns a read-only view of the player's hand of cards. Cards enter and leave the hand
+     * only through the player, which keeps the hand counters accurate.
      *
-     * @return An ArrayList of cards in the player's hand.
+     * @return A list of cards in the player's hand.
      */
-    public ArrayList<Card> getHand() {
-        return hand;
+    public List<Card> getHand() {
+        return handView;
+    }
+
+    /**
+     * Returns how many cards of the given type are in the player's hand.
+     *
+     * @param type The {@link CardType} code.
+     * @return The number of cards of that type in hand.
+     */
+    public int getTypeCount(byte type) {
+        return typeCounts[type];
+    }
+
+    /**
+     * Returns a bitmask of the card types in the player's hand, with bit
+     * (1 << type) set for every {@link CardType} code present.
+     *
+     * @return The type bitmask.
+     */
+    public int getTypeMask() {
+        return typeMask;
+    }
+
+    /**
+     * Returns the index of the first Pokémon in the player's hand.
+     *
+     * @return The index of the first Pokémon, or -1 if there is none.
+     */
+    public int getFirstPokemonIndex() {
+        return firstPokemonIndex;
     }
 
     /**
@@ -64,6 +105,12 @@ class Player {
      */
     public void drawCard(Card card) {
         hand.add(card);
+        byte type = card.getType();
+        typeCounts[type]++;
+        typeMask |= 1 << type;
+        if (type == CardType.POKEMON && firstPokemonIndex < 0) {
+            firstPokemonIndex = hand.size() - 1;
+        }
     }
 
     /**
@@ -77,7 +124,36 @@ class Player {
         if (index < 0 || index >= hand.size()) {
             throw new IndexOutOfBoundsException("Invalid card index.");
         }
-        return hand.remove(index);
+        return removeFromHand(index);
+    }
+
+    /**
+     * Removes the card at the given index and updates the hand counters. The hand is only
+     * rescanned when the first Pokémon itself is removed, and then only from that index on.
+     *
+     * @param index The index of the card in the hand.
+     * @return The removed card.
+     */
+    private Card removeFromHand(int index) {
+        Card card = hand.remove(index);
+        byte type = card.getType();
+        if (--typeCounts[type] == 0) {
+            typeMask &= ~(1 << type);
+        }
+        if (index < firstPokemonIndex) {
+            firstPokemonIndex--;
+        } else if (index == firstPokemonIndex) {
+            firstPokemonIndex = -1;
+            if (typeCounts[CardType.POKEMON] > 0) {
+                for (int i = index; i < hand.size(); i++) {
+                    if (hand.get(i).getType() == CardType.POKEMON) {
+                        firstPokemonIndex = i;
+                        break;
+                    }
+                }
+            }
+        }
+        return card;
     }
 
     /**
@@ -95,12 +171,7 @@ class Player {
      * @return True if there is a Pokémon card in the hand; false otherwise.
      */
     public boolean hasPokemonInHand() {
-        for (Card card : hand) {
-            if (card instanceof Pokemon) {
-                return true;
-            }
-        }
-        return false;
+        return typeCounts[CardType.POKEMON] > 0;
     }
 
     /**
@@ -124,13 +195,8 @@ class Player {
      * and removes it from the hand.
      */
     public void drawPokemon() {
-        for (int i = 0; i < hand.size(); i++) {
-            Card card = hand.get(i);
-            if (card instanceof Pokemon) {
-                setActivePokemon((Pokemon) card);
-                hand.remove(i);
-                break;
-            }
+        if (firstPokemonIndex >= 0) {
+            setActivePokemon((Pokemon) removeFromHand(firstPokemonIndex));
         }
     }
 
@@ -146,19 +212,38 @@ class Player {
         if (cardIndex >= 0 && cardIndex < hand.size()) {
             Card card = hand.get(cardIndex);
             //Check if card is a trainer
-            if (card instanceof HealTrainer) {
-                ((HealTrainer) card).use(this);
-                hand.remove(cardIndex);
-            } else if (card instanceof DrawTrainer) {
-                ((DrawTrainer) card).use(this, game.getDeck());
-                hand.remove(cardIndex);
-            } 
-            //If card isn't a trainer, cannot be used as such (this should never occur)
-            else {
-                System.out.println("Selected card is not a Trainer card.");
+            switch (card.getType()) {
+                case CardType.HEAL_TRAINER:
+                    ((HealTrainer) card).use(this, game.getEventSink());
+                    removeFromHand(cardIndex);
+                    break;
+                case CardType.DRAW_TRAINER:
+                    ((DrawTrainer) card).use(this, game.getDeck(), game.getEventSink());
+                    removeFromHand(cardIndex);
+                    break;
+                //If card isn't a trainer, cannot be used as such (this should never occur)
+                default:
+                    reject(game.getEventSink(), GameEvent.Reason.NOT_A_TRAINER);
+                    break;
             }
         } else {
-            System.out.println("Invalid card selection.");
+            reject(game.getEventSink(), GameEvent.Reason.INVALID_CARD);
         }
     }
+
+    private void reject(EventSink events, GameEvent.Reason reason) {
+        if (events.isEnabled()) {
+            events.accept(new GameEvent.Rejected(name, reason));
+        }
+    }
+
+    /**
+     * Captures the player's hand and active Pokémon as an event, without formatting them.
+     *
+     * @return a TurnStarted event holding a snapshot of the hand
+     */
+    public GameEvent.TurnStarted turnStarted() {
+        return new GameEvent.TurnStarted(name, hand.toArray(new Card[0]),
+                activePokemon != null ? activePokemon.getName() : null);
+    }
 }
\ No newline at end of file
@@ -20,6 +20,16 @@ class Pokemon extends Card {
         this.moves = moves;
     }
 
+    /**
+     * Returns the card-type code for Pokémon cards.
+     *
+     * @return CardType.POKEMON
+     */
+    @Override
+    public byte getType() {
+        return CardType.POKEMON;
+    }
+
     /**
      * Returns the current hp of the Pokémon.
      *
@@ -0,0 +1,59 @@
+import java.util.random.RandomGenerator;
+
+/**
+ * Chooses a player's action in a {@link HeadlessGame}. An action is encoded as an int:
+ * {@link #attack(int)} for a move of the active Pokémon or {@link #playTrainer(int)} for a
+ * Trainer card in hand. Policies are shared by every game in a batch, so implementations must
+ * not keep mutable state.
+ */
+interface Policy {
+
+    /**
+     * Chooses the action for the current player's turn.
+     *
+     * @param view the current player's view of the game
+     * @param rand the game's random number generator
+     * @return the encoded action
+     */
+    int choose(TurnView view, RandomGenerator rand);
+
+    /**
+     * Encodes an attack with the active Pokémon's move at the given index.
+     *
+     * @param moveIndex the index of the move
+     * @return the encoded action
+     */
+    static int attack(int moveIndex) {
+        return moveIndex;
+    }
+
+    /**
+     * Encodes playing the Trainer card at the given hand index.
+     *
+     * @param handIndex the index of the card in the hand
+     * @return the encoded action
+     */
+    static int playTrainer(int handIndex) {
+        return -(handIndex + 1);
+    }
+
+    /**
+     * Checks whether an encoded action is an attack.
+     *
+     * @param action the encoded action
+     * @return true for an attack; false for a Trainer card
+     */
+    static boolean isAttack(int action) {
+        return action >= 0;
+    }
+
+    /**
+     * Returns the hand index of an encoded Trainer action.
+     *
+     * @param action the encoded action
+     * @return the index of the Trainer card in the hand
+     */
+    static int handIndex(int action) {
+        return -action - 1;
+    }
+}
@@ -0,0 +1,37 @@
+import java.util.random.RandomGenerator;
+
+/**
+ * Picks uniformly among every legal action: each move of the active Pokémon and each Trainer
+ * card in hand.
+ */
+class RandomPolicy implements Policy {
+
+    @Override
+    public int choose(TurnView view, RandomGenerator rand) {
+        CardSet cards = view.cards();
+        int moves = cards.moveCount(view.activeId());
+        int trainers = 0;
+        for (int i = 0; i < view.handSize(); i++) {
+            if (isTrainer(cards, view.handCardId(i))) {
+                trainers++;
+            }
+        }
+
+        int pick = rand.nextInt(moves + trainers);
+        if (pick < moves) {
+            return Policy.attack(pick);
+        }
+        pick -= moves;
+        for (int i = 0; i < view.handSize(); i++) {
+            if (isTrainer(cards, view.handCardId(i)) && pick-- == 0) {
+                return Policy.playTrainer(i);
+            }
+        }
+        return Policy.attack(0);
+    }
+
+    private static boolean isTrainer(CardSet cards, int cardId) {
+        byte type = cards.type(cardId);
+        return type == CardType.DRAW_TRAINER || type == CardType.HEAL_TRAINER;
+    }
+}
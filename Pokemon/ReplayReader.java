@@ -0,0 +1,202 @@
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Reads a replay log written by {@link ReplayWriter}. The file is memory-mapped and decoded
+ * in place, one game at a time, into reusable fields, so scanning millions of games for bulk
+ * analysis allocates nothing. {@link HeadlessGame#replay} rebuilds the current game.
+ *
+ * A single mapping covers files up to 2 GB, well over a hundred million games.
+ */
+final class ReplayReader {
+
+    private final MappedByteBuffer buffer;
+    private final long seed;
+
+    private long gameIndex;
+    private int mode;
+    private int pokemonInDeck;
+    private final int[] firstDeck = new int[DeckOptimizer.KINDS];
+    private final int[] secondDeck = new int[DeckOptimizer.KINDS];
+    private int[] actions = new int[64];
+    private int actionCount;
+    private int winner;
+
+    /**
+     * Maps a replay log and reads its header.
+     *
+     * @param file the log file
+     * @throws IOException if the file cannot be read or is larger than 2 GB
+     * @throws IllegalArgumentException if the file is not a replay log of a known version
+     */
+    public ReplayReader(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Replay log is too large to map: " + file);
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.remaining() < ReplayWriter.HEADER_SIZE || buffer.getInt() != ReplayWriter.MAGIC) {
+            throw new IllegalArgumentException("Not a replay log: " + file);
+        }
+        byte version = buffer.get();
+        if (version != ReplayWriter.VERSION) {
+            throw new IllegalArgumentException("Unsupported replay log version " + version + ": " + file);
+        }
+        seed = buffer.getLong();
+    }
+
+    /**
+     * Returns the seed of the run that wrote the log.
+     *
+     * @return the run's seed
+     */
+    public long seed() {
+        return seed;
+    }
+
+    /**
+     * Decodes the next game.
+     *
+     * @return false if there are no more games
+     * @throws IllegalArgumentException if the log is truncated or corrupt
+     */
+    public boolean next() {
+        if (!buffer.hasRemaining()) {
+            return false;
+        }
+        try {
+            gameIndex = readVarLong();
+            mode = (int) readVarLong();
+            if (mode == ReplayRecorder.SHARED_PILE) {
+                pokemonInDeck = (int) readVarLong();
+            } else if (mode == ReplayRecorder.TWO_DECKS) {
+                pokemonInDeck = -1;
+                for (int kind = 0; kind < firstDeck.length; kind++) {
+                    firstDeck[kind] = (int) readVarLong();
+                }
+                for (int kind = 0; kind < secondDeck.length; kind++) {
+                    secondDeck[kind] = (int) readVarLong();
+                }
+            } else {
+                throw new IllegalArgumentException("Unknown deal mode " + mode + " in game " + gameIndex);
+            }
+
+            actionCount = 0;
+            long code;
+            while ((code = readVarLong()) != 0) {
+                if (actionCount == actions.length) {
+                    actions = Arrays.copyOf(actions, actionCount * 2);
+                }
+                int zigzag = (int) (code - 1);
+                actions[actionCount++] = (zigzag >>> 1) ^ -(zigzag & 1);
+            }
+            winner = (int) readVarLong() - 1;
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Replay log is truncated", e);
+        }
+        return true;
+    }
+
+    /**
+     * Moves back to the first game.
+     */
+    public void rewind() {
+        buffer.position(ReplayWriter.HEADER_SIZE);
+    }
+
+    /**
+     * Returns the index of the current game within its run.
+     *
+     * @return the game index
+     */
+    public long gameIndex() {
+        return gameIndex;
+    }
+
+    /**
+     * Returns how the current game was dealt.
+     *
+     * @return ReplayRecorder.SHARED_PILE or ReplayRecorder.TWO_DECKS
+     */
+    public int mode() {
+        return mode;
+    }
+
+    /**
+     * Returns the number of Pokémon in the shared deck of the current game.
+     *
+     * @return the number of Pokémon, or -1 if each player had a deck of their own
+     */
+    public int pokemonInDeck() {
+        return pokemonInDeck;
+    }
+
+    /**
+     * Returns the composition of the first player's deck in a TWO_DECKS game. The array is
+     * reused for the next game.
+     *
+     * @return the card counts by {@link CardType}
+     */
+    public int[] firstDeck() {
+        return firstDeck;
+    }
+
+    /**
+     * Returns the composition of the second player's deck in a TWO_DECKS game. The array is
+     * reused for the next game.
+     *
+     * @return the card counts by {@link CardType}
+     */
+    public int[] secondDeck() {
+        return secondDeck;
+    }
+
+    /**
+     * Returns the number of actions, one per turn, in the current game.
+     *
+     * @return the number of actions
+     */
+    public int actionCount() {
+        return actionCount;
+    }
+
+    /**
+     * Returns one action of the current game, encoded as in {@link Policy}.
+     *
+     * @param turn the turn, from 0
+     * @return the action
+     */
+    public int action(int turn) {
+        return actions[turn];
+    }
+
+    /**
+     * Returns the recorded result of the current game.
+     *
+     * @return 0, 1 or {@link BattleState#DRAW}
+     */
+    public int winner() {
+        return winner;
+    }
+
+    private long readVarLong() {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            if (shift > 63) {
+                throw new IllegalArgumentException("Malformed varint in replay log");
+            }
+            b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return value;
+    }
+}
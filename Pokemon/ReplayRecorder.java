@@ -0,0 +1,107 @@
+import java.util.Arrays;
+
+/**
+ * Encodes headless games into the compact replay format in memory; a {@link ReplayWriter}
+ * then copies the bytes to a file. A batch run gives every shard its own recorder, so
+ * recording needs no synchronization.
+ *
+ * A game is its index, its deal, its actions and its result, all as LEB128 varints:
+ * <pre>
+ * gameIndex  mode  deal...  (zigzag(action) + 1)...  0  (winner + 1)
+ * </pre>
+ * Mode SHARED_PILE is followed by the number of Pokémon in the one shared deck, and mode
+ * TWO_DECKS by the two decks' compositions. Together with the file's seed the index fixes the
+ * game's random stream, so the deal and every draw can be recomputed. Actions are small ints,
+ * so a turn costs one byte.
+ */
+final class ReplayRecorder {
+
+    /** Both players draw from one deck with a given number of Pokémon. */
+    static final int SHARED_PILE = 0;
+
+    /** Each player draws from a deck of their own with an exact composition. */
+    static final int TWO_DECKS = 1;
+
+    private byte[] bytes = new byte[1 << 12];
+    private int size;
+
+    /**
+     * Starts a game whose players share one deck.
+     *
+     * @param gameIndex the index of the game within the run
+     * @param pokemonInDeck the number of Pokémon in the deck
+     */
+    public void beginGame(long gameIndex, int pokemonInDeck) {
+        writeVarLong(gameIndex);
+        writeVarLong(SHARED_PILE);
+        writeVarLong(pokemonInDeck);
+    }
+
+    /**
+     * Starts a game in which each player has a deck of their own.
+     *
+     * @param gameIndex the index of the game within the run
+     * @param firstDeck the composition of the first player's deck
+     * @param secondDeck the composition of the second player's deck
+     */
+    public void beginGame(long gameIndex, int[] firstDeck, int[] secondDeck) {
+        writeVarLong(gameIndex);
+        writeVarLong(TWO_DECKS);
+        for (int count : firstDeck) {
+            writeVarLong(count);
+        }
+        for (int count : secondDeck) {
+            writeVarLong(count);
+        }
+    }
+
+    /**
+     * Records one action, encoded as in {@link Policy}.
+     *
+     * @param action the action
+     */
+    public void action(int action) {
+        writeVarLong(((action << 1) ^ (action >> 31)) + 1L);
+    }
+
+    /**
+     * Ends the current game.
+     *
+     * @param winner 0, 1 or {@link BattleState#DRAW}
+     */
+    public void endGame(int winner) {
+        writeVarLong(0);
+        writeVarLong(winner + 1);
+    }
+
+    /**
+     * Returns the number of bytes recorded since the last reset.
+     *
+     * @return the encoded size
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Discards everything recorded.
+     */
+    public void reset() {
+        size = 0;
+    }
+
+    byte[] bytes() {
+        return bytes;
+    }
+
+    private void writeVarLong(long value) {
+        if (bytes.length - size < 10) {
+            bytes = Arrays.copyOf(bytes, bytes.length * 2);
+        }
+        while ((value & ~0x7FL) != 0) {
+            bytes[size++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        bytes[size++] = (byte) value;
+    }
+}
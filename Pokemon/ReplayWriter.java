@@ -0,0 +1,101 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes a replay log: a short header holding the run's seed, followed by the games of any
+ * number of {@link ReplayRecorder}s. Bytes go through a direct buffer into a file channel, so
+ * the file is written in large blocks. Not thread-safe; recorders are filled in parallel and
+ * written from one thread.
+ */
+final class ReplayWriter implements AutoCloseable {
+
+    /** "PKRP" in ASCII. */
+    static final int MAGIC = 0x504B5250;
+
+    /** Version of the record layout. */
+    static final byte VERSION = 1;
+
+    /** Size of the header: magic, version and seed. */
+    static final int HEADER_SIZE = 4 + 1 + 8;
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final long seed;
+
+    /**
+     * Creates or truncates a replay log for a run with the given seed.
+     *
+     * @param file the log file
+     * @param seed the seed from which every game's stream is derived
+     * @throws IOException if the file cannot be opened or written
+     */
+    public ReplayWriter(Path file, long seed) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        this.seed = seed;
+        buffer.putInt(MAGIC).put(VERSION).putLong(seed);
+    }
+
+    /**
+     * Returns the seed recorded in the header.
+     *
+     * @return the run's seed
+     */
+    public long seed() {
+        return seed;
+    }
+
+    /**
+     * Appends everything in the recorder and resets it.
+     *
+     * @param recorder the recorded games
+     * @throws IOException if the file cannot be written
+     */
+    public void write(ReplayRecorder recorder) throws IOException {
+        byte[] bytes = recorder.bytes();
+        int offset = 0;
+        int length = recorder.size();
+        while (length > 0) {
+            if (!buffer.hasRemaining()) {
+                flush();
+            }
+            int chunk = Math.min(length, buffer.remaining());
+            buffer.put(bytes, offset, chunk);
+            offset += chunk;
+            length -= chunk;
+        }
+        recorder.reset();
+    }
+
+    /**
+     * Writes out any buffered bytes.
+     *
+     * @throws IOException if the file cannot be written
+     */
+    public void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Flushes the buffer and closes the file.
+     *
+     * @throws IOException if the file cannot be written or closed
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+}
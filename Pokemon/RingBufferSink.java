@@ -0,0 +1,57 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the most recent events in a fixed-size ring without formatting them, so the last
+ * moments of a game can be inspected after something odd happens. Writers claim a slot with a
+ * single atomic increment and never block.
+ */
+class RingBufferSink implements EventSink {
+
+    private final GameEvent[] events;
+    private final int mask;
+    private final AtomicLong next = new AtomicLong();
+
+    /**
+     * Constructs a ring holding at least the given number of events, rounded up to a power of two.
+     *
+     * @param capacity the minimum number of events to keep
+     * @throws IllegalArgumentException if capacity is not positive
+     */
+    public RingBufferSink(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        events = new GameEvent[size];
+        mask = size - 1;
+    }
+
+    @Override
+    public void accept(GameEvent event) {
+        events[(int) (next.getAndIncrement() & mask)] = event;
+    }
+
+    /**
+     * Returns the buffered events, oldest first. Events written while the snapshot is taken
+     * may or may not be included.
+     *
+     * @return the most recent events
+     */
+    public List<GameEvent> snapshot() {
+        long end = next.get();
+        long start = Math.max(0, end - events.length);
+        List<GameEvent> result = new ArrayList<>((int) (end - start));
+        for (long i = start; i < end; i++) {
+            GameEvent event = events[(int) (i & mask)];
+            if (event != null) {
+                result.add(event);
+            }
+        }
+        return result;
+    }
+}
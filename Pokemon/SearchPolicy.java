@@ -0,0 +1,27 @@
+import java.util.random.RandomGenerator;
+
+/**
+ * Chooses each action with a {@link MoveSearch} under a fixed time budget. Each thread gets its
+ * own search state, so one policy can be shared by a whole batch.
+ */
+class SearchPolicy implements Policy {
+
+    private final ThreadLocal<MoveSearch> search;
+    private final ThreadLocal<BattleState> root = ThreadLocal.withInitial(BattleState::new);
+
+    /**
+     * Constructs a policy that searches for the given time per move.
+     *
+     * @param budgetMillis the time to search for each move, in milliseconds
+     */
+    public SearchPolicy(long budgetMillis) {
+        this.search = ThreadLocal.withInitial(() -> new MoveSearch(budgetMillis));
+    }
+
+    @Override
+    public int choose(TurnView view, RandomGenerator rand) {
+        BattleState state = root.get();
+        view.copyStateInto(state);
+        return search.get().choose(state, rand);
+    }
+}
@@ -0,0 +1,136 @@
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * Unbiased Fisher–Yates shuffles and the random streams that drive them. Shuffles take the
+ * generator from the caller, so a simulation can supply a seeded stream per game and replay
+ * any game exactly; callers that do not care about replay can use the per-thread generator.
+ */
+final class Shuffler {
+
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private static final RandomSource ROOT = RandomSource.create();
+
+    private static final ThreadLocal<RandomSource> PER_THREAD = ThreadLocal.withInitial(() -> {
+        synchronized (ROOT) {
+            return ROOT.split();
+        }
+    });
+
+    private Shuffler() {
+        // Static utilities only
+    }
+
+    /**
+     * Returns the calling thread's generator. Each thread gets its own {@link RandomSource}
+     * split from a process-wide root, so threads never contend on a shared generator.
+     *
+     * @return the calling thread's random number generator
+     */
+    public static RandomGenerator threadGenerator() {
+        return PER_THREAD.get();
+    }
+
+    /**
+     * A generator that draws from whichever thread calls it, looking up that thread's
+     * generator on every call. Unlike the result of {@link #threadGenerator()}, it can be held
+     * by an object that later moves to another thread.
+     */
+    private static final RandomGenerator CALLING_THREAD = new RandomGenerator() {
+        @Override
+        public long nextLong() {
+            return PER_THREAD.get().nextLong();
+        }
+
+        @Override
+        public int nextInt() {
+            return PER_THREAD.get().nextInt();
+        }
+
+        @Override
+        public int nextInt(int bound) {
+            return PER_THREAD.get().nextInt(bound);
+        }
+    };
+
+    /**
+     * Returns a generator that always draws from the calling thread's generator, for objects
+     * that keep a generator but may be used on a thread other than the one that created them.
+     *
+     * @return a generator that is safe to share between threads
+     */
+    public static RandomGenerator callingThreadGenerator() {
+        return CALLING_THREAD;
+    }
+
+    /**
+     * Returns the random stream for one game of a seeded simulation. The stream depends only on
+     * the seed and the game's index, so any single game of a multi-million-game run can be
+     * replayed on its own, on any thread, in any order.
+     *
+     * @param seed the simulation's seed
+     * @param gameIndex the index of the game within the simulation
+     * @return a generator that produces the same sequence for the same seed and index
+     */
+    public static SplittableRandom gameStream(long seed, long gameIndex) {
+        return new SplittableRandom(mix64(seed + mix64(gameIndex + GOLDEN_GAMMA)));
+    }
+
+    /**
+     * Shuffles elements from (inclusive) to to (exclusive) of the array with the Fisher–Yates
+     * algorithm, so that every permutation is equally likely.
+     *
+     * @param a the array to shuffle
+     * @param from the first index to shuffle
+     * @param to one past the last index to shuffle
+     * @param rand the generator to draw from
+     */
+    public static void shuffle(Object[] a, int from, int to, RandomGenerator rand) {
+        for (int i = to - 1; i > from; i--) {
+            int j = from + rand.nextInt(i - from + 1);
+            Object temp = a[i];
+            a[i] = a[j];
+            a[j] = temp;
+        }
+    }
+
+    /**
+     * Shuffles an array of card ordinals, such as indices into a card list, with the
+     * Fisher–Yates algorithm. Moving ints rather than Card references keeps the shuffle within
+     * one contiguous primitive array.
+     *
+     * @param a the ordinals to shuffle
+     * @param rand the generator to draw from
+     */
+    public static void shuffle(int[] a, RandomGenerator rand) {
+        for (int i = a.length - 1; i > 0; i--) {
+            int j = rand.nextInt(i + 1);
+            int temp = a[i];
+            a[i] = a[j];
+            a[j] = temp;
+        }
+    }
+
+    /**
+     * Shuffles an array of {@link CardType} codes with the Fisher–Yates algorithm.
+     *
+     * @param a the card-type codes to shuffle
+     * @param rand the generator to draw from
+     */
+    public static void shuffle(byte[] a, RandomGenerator rand) {
+        for (int i = a.length - 1; i > 0; i--) {
+            int j = rand.nextInt(i + 1);
+            byte temp = a[i];
+            a[i] = a[j];
+            a[j] = temp;
+        }
+    }
+
+    /** Stafford variant 13 of the MurmurHash3 finalizer, as used by SplittableRandom. */
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
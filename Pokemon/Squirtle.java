@@ -8,9 +8,7 @@ class Squirtle extends Pokemon {
      * and two moves: "Water Gun" and "Bubble".
      */
     public Squirtle() {
-        super("Squirtle", 50, new Move[]{
-            new Move("Water Gun", 20),   // Move 1: Water Gun
-            new Move("Bubble", 10)       // Move 2: Bubble
-        });
+        super(CardCatalog.name(CardCatalog.SQUIRTLE), CardCatalog.hitPoints(CardCatalog.SQUIRTLE),
+                CardCatalog.moves(CardCatalog.SQUIRTLE));
     }
 }
\ No newline at end of file
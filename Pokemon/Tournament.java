@@ -0,0 +1,350 @@
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Round-robin tournament between decks: every pair of entrants plays the same number of
+ * headless games, each player drawing from their own deck, with the first move alternating
+ * between the two.
+ *
+ * The games of every pair are cut into chunks and the chunks are run as a fork/join task tree,
+ * so idle workers steal work and long games in one pair do not hold up the others. Each worker
+ * counts results in its own array, which is only merged after the tournament, and progress is
+ * a {@link LongAdder}, so workers never contend on a lock or a shared counter. Chunk c of pair
+ * p always plays from the same random stream, so the results depend only on the seed.
+ */
+class Tournament {
+
+    /** Number of games played by one task; even, so both entrants move first equally often. */
+    static final int GAMES_PER_CHUNK = 256;
+
+    /** Elo points per factor of ten in the Bradley–Terry strength. */
+    static final double ELO_SCALE = 400.0;
+
+    /** Elo rating of an average entrant. */
+    static final double ELO_MEAN = 1500.0;
+
+    private static final int MAX_ITERATIONS = 10_000;
+    private static final double TOLERANCE = 1e-10;
+
+    /**
+     * One deck in the tournament and the policy that plays it.
+     *
+     * @param name the name shown in results
+     * @param composition the deck's number of cards of each {@link CardType}, as in
+     *        {@link BattleState#deal(int[], RandomGenerator)}
+     * @param policy the policy that plays the deck
+     */
+    record Entrant(String name, int[] composition, Policy policy) {
+    }
+
+    private final List<Entrant> entrants;
+    private final int gamesPerPair;
+    private final long seed;
+
+    private final int pairs;
+    private final int chunksPerPair;
+    private final long totalGames;
+
+    /** Per-worker tallies: [wins of the lower-numbered entrant, wins of the other, draws] per pair */
+    private final Queue<long[]> tallies = new ConcurrentLinkedQueue<>();
+    private final ThreadLocal<long[]> workerTally = ThreadLocal.withInitial(this::newTally);
+    private final ThreadLocal<HeadlessGame> workerGame;
+    private final LongAdder played = new LongAdder();
+    private volatile long startNanos;
+
+    /**
+     * Constructs a tournament with the standard card set.
+     *
+     * @param entrants the decks taking part; at least two
+     * @param gamesPerPair the number of games each pair plays, rounded up to a whole chunk
+     * @param seed the seed from which every chunk's random stream is derived
+     * @throws IllegalArgumentException if there are fewer than two entrants or gamesPerPair is not positive
+     */
+    public Tournament(List<Entrant> entrants, int gamesPerPair, long seed) {
+        this(entrants, gamesPerPair, seed, CardSet.standard());
+    }
+
+    /**
+     * Constructs a tournament.
+     *
+     * @param entrants the decks taking part; at least two
+     * @param gamesPerPair the number of games each pair plays, rounded up to a whole chunk
+     * @param seed the seed from which every chunk's random stream is derived
+     * @param cards the card definitions
+     * @throws IllegalArgumentException if there are fewer than two entrants or gamesPerPair is not positive
+     */
+    public Tournament(List<Entrant> entrants, int gamesPerPair, long seed, CardSet cards) {
+        if (entrants.size() < 2) {
+            throw new IllegalArgumentException("A tournament needs at least two entrants");
+        }
+        if (gamesPerPair < 1) {
+            throw new IllegalArgumentException("gamesPerPair must be positive");
+        }
+        this.entrants = List.copyOf(entrants);
+        this.seed = seed;
+        this.chunksPerPair = (gamesPerPair + GAMES_PER_CHUNK - 1) / GAMES_PER_CHUNK;
+        this.gamesPerPair = chunksPerPair * GAMES_PER_CHUNK;
+        this.pairs = entrants.size() * (entrants.size() - 1) / 2;
+        this.totalGames = (long) pairs * this.gamesPerPair;
+        this.workerGame = ThreadLocal.withInitial(() -> new HeadlessGame(cards));
+    }
+
+    /**
+     * Starts the tournament on the common fork/join pool and returns at once. Poll
+     * {@link #progress()} and {@link #etaMillis()} while it runs, and join the returned task
+     * before reading the results.
+     *
+     * @return the running tournament
+     * @throws IllegalStateException if the tournament was already started
+     */
+    public ForkJoinTask<Void> start() {
+        if (startNanos != 0) {
+            throw new IllegalStateException("The tournament was already started");
+        }
+        startNanos = System.nanoTime();
+        return ForkJoinPool.commonPool().submit(new Chunks(0, pairs * chunksPerPair));
+    }
+
+    /**
+     * Plays the whole tournament on the common fork/join pool.
+     */
+    public void run() {
+        start().join();
+    }
+
+    /**
+     * Returns the number of games each pair plays.
+     *
+     * @return the games per pair, a whole number of chunks
+     */
+    public int gamesPerPair() {
+        return gamesPerPair;
+    }
+
+    /**
+     * Returns the number of games played so far.
+     *
+     * @return the games finished
+     */
+    public long gamesPlayed() {
+        return played.sum();
+    }
+
+    /**
+     * Returns the number of games in the whole tournament.
+     *
+     * @return the total number of games
+     */
+    public long totalGames() {
+        return totalGames;
+    }
+
+    /**
+     * Returns the fraction of the tournament played so far.
+     *
+     * @return a value from 0 to 1
+     */
+    public double progress() {
+        return (double) played.sum() / totalGames;
+    }
+
+    /**
+     * Estimates the time left from the rate of play so far.
+     *
+     * @return the estimated milliseconds until the tournament ends, or -1 before the first
+     *         chunk has finished
+     */
+    public long etaMillis() {
+        long done = played.sum();
+        if (done == 0) {
+            return -1;
+        }
+        double elapsed = (System.nanoTime() - startNanos) / 1e6;
+        return (long) (elapsed * (totalGames - done) / done);
+    }
+
+    /**
+     * Returns how often each entrant beat each other entrant. Call after the tournament.
+     *
+     * @return wins[i][j], the games entrant i won against entrant j
+     */
+    public long[][] winMatrix() {
+        long[] total = mergedTally();
+        int n = entrants.size();
+        long[][] wins = new long[n][n];
+        int pair = 0;
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                wins[i][j] = total[3 * pair];
+                wins[j][i] = total[3 * pair + 1];
+                pair++;
+            }
+        }
+        return wins;
+    }
+
+    /**
+     * Returns the number of drawn games between each pair of entrants. Call after the tournament.
+     *
+     * @return draws[i][j], symmetric
+     */
+    public long[][] drawMatrix() {
+        long[] total = mergedTally();
+        int n = entrants.size();
+        long[][] draws = new long[n][n];
+        int pair = 0;
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                draws[i][j] = draws[j][i] = total[3 * pair + 2];
+                pair++;
+            }
+        }
+        return draws;
+    }
+
+    /**
+     * Fits a Bradley–Terry model to the results with the minorization–maximization algorithm
+     * and returns each entrant's strength on the Elo scale, averaging ELO_MEAN. A draw counts
+     * as half a win for each side, and every pair is given one extra drawn game as a prior, so
+     * an entrant that never won still gets a finite rating. Call after the tournament.
+     *
+     * @return the Elo rating of each entrant, in entrant order
+     */
+    public double[] ratings() {
+        long[][] wins = winMatrix();
+        long[][] draws = drawMatrix();
+        int n = entrants.size();
+        double[][] games = new double[n][n];
+        double[] score = new double[n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                if (i != j) {
+                    games[i][j] = wins[i][j] + wins[j][i] + draws[i][j] + 1;
+                    score[i] += wins[i][j] + 0.5 * (draws[i][j] + 1);
+                }
+            }
+        }
+
+        double[] strength = new double[n];
+        Arrays.fill(strength, 1.0);
+        for (int iteration = 0; iteration < MAX_ITERATIONS; iteration++) {
+            double change = 0;
+            double logSum = 0;
+            double[] next = new double[n];
+            for (int i = 0; i < n; i++) {
+                double denominator = 0;
+                for (int j = 0; j < n; j++) {
+                    if (i != j) {
+                        denominator += games[i][j] / (strength[i] + strength[j]);
+                    }
+                }
+                next[i] = score[i] / denominator;
+                logSum += Math.log(next[i]);
+            }
+            double scale = Math.exp(-logSum / n); // geometric mean 1
+            for (int i = 0; i < n; i++) {
+                next[i] *= scale;
+                change = Math.max(change, Math.abs(next[i] - strength[i]));
+            }
+            strength = next;
+            if (change < TOLERANCE) {
+                break;
+            }
+        }
+
+        double[] elo = new double[n];
+        for (int i = 0; i < n; i++) {
+            elo[i] = ELO_MEAN + ELO_SCALE * Math.log10(strength[i]);
+        }
+        return elo;
+    }
+
+    /**
+     * Returns the entrants in the order used by the matrices and ratings.
+     *
+     * @return the entrants
+     */
+    public List<Entrant> entrants() {
+        return entrants;
+    }
+
+    private long[] newTally() {
+        long[] tally = new long[3 * pairs];
+        tallies.add(tally);
+        return tally;
+    }
+
+    private long[] mergedTally() {
+        long[] total = new long[3 * pairs];
+        for (long[] tally : tallies) {
+            for (int k = 0; k < total.length; k++) {
+                total[k] += tally[k];
+            }
+        }
+        return total;
+    }
+
+    /** Plays one chunk of one pair's games into the calling worker's tally. */
+    private void playChunk(int chunk) {
+        int pair = chunk / chunksPerPair;
+        int[] match = pairAt(pair);
+        Entrant a = entrants.get(match[0]);
+        Entrant b = entrants.get(match[1]);
+        HeadlessGame game = workerGame.get();
+        long[] tally = workerTally.get();
+        SplittableRandom rand = Shuffler.gameStream(seed, chunk);
+        for (int g = 0; g < GAMES_PER_CHUNK; g++) {
+            boolean aFirst = (g & 1) == 0;
+            int winner = aFirst
+                    ? game.play(a.composition(), b.composition(), a.policy(), b.policy(), rand)
+                    : game.play(b.composition(), a.composition(), b.policy(), a.policy(), rand);
+            if (winner == HeadlessGame.DRAW) {
+                tally[3 * pair + 2]++;
+            } else {
+                tally[3 * pair + ((winner == 0) == aFirst ? 0 : 1)]++;
+            }
+        }
+        played.add(GAMES_PER_CHUNK);
+    }
+
+    /** Returns the entrants {i, j}, i < j, of a pair numbered row by row. */
+    private int[] pairAt(int pair) {
+        int n = entrants.size();
+        int i = 0;
+        while (pair >= n - 1 - i) {
+            pair -= n - 1 - i;
+            i++;
+        }
+        return new int[] { i, i + 1 + pair };
+    }
+
+    /** Splits a range of chunks in half until one is left, so idle workers can steal the other half. */
+    private final class Chunks extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+
+        Chunks(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                playChunk(from);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new Chunks(from, middle), new Chunks(middle, to));
+        }
+    }
+}
@@ -24,6 +24,16 @@ public class Trainer extends Card {
         return name;
     }
 
+    /**
+     * Returns the card-type code for a Trainer card with no effect of its own.
+     *
+     * @return CardType.TRAINER
+     */
+    @Override
+    public byte getType() {
+        return CardType.TRAINER;
+    }
+
     /**
      * Returns a string representation of the Trainer card.
      * This includes the name of the card.
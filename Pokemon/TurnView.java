@@ -0,0 +1,63 @@
+/**
+ * What a {@link Policy} can see on its turn: its own active Pokémon and hand, and the
+ * opponent's active Pokémon. Cards are reported by id in the game's {@link CardSet}.
+ */
+interface TurnView {
+
+    /**
+     * Returns the card definitions the game is played with.
+     *
+     * @return the card set that the ids refer to
+     */
+    CardSet cards();
+
+    /**
+     * Returns the card id of the current player's active Pokémon.
+     *
+     * @return the card id
+     */
+    int activeId();
+
+    /**
+     * Returns the remaining hit points of the current player's active Pokémon.
+     *
+     * @return the remaining hit points
+     */
+    int activeHitPoints();
+
+    /**
+     * Returns the card id of the opponent's active Pokémon.
+     *
+     * @return the card id
+     */
+    int opponentActiveId();
+
+    /**
+     * Returns the remaining hit points of the opponent's active Pokémon.
+     *
+     * @return the remaining hit points
+     */
+    int opponentHitPoints();
+
+    /**
+     * Returns the number of cards in the current player's hand.
+     *
+     * @return the hand size
+     */
+    int handSize();
+
+    /**
+     * Returns the card id of a card in the current player's hand.
+     *
+     * @param handIndex the index of the card in the hand
+     * @return the card id
+     */
+    int handCardId(int handIndex);
+
+    /**
+     * Copies the full game state, for policies that search ahead.
+     *
+     * @param target the state to overwrite
+     */
+    void copyStateInto(BattleState target);
+}
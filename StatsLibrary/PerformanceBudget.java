@@ -0,0 +1,108 @@
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Measures hot paths for the budget tests in {@link StatsLibraryPerformanceTest}. Allocation is
+ * read from the JVM's per-thread allocated-bytes counter, so only the measuring thread's own
+ * allocations count and a garbage collection in between changes nothing. Every call is warmed
+ * up until the JIT has compiled it first, since budgets describe compiled code.
+ */
+final class PerformanceBudget {
+
+    /** Calls made before measuring, enough for the JIT to compile the call path. */
+    static final int WARMUP_CALLS = 20_000;
+
+    /** Timed rounds per measurement; the fastest one counts, which filters out noise. */
+    static final int TIMING_ROUNDS = 5;
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    /** Results are added here so the JIT cannot drop the measured calls as dead code. */
+    private static volatile double sink;
+
+    private PerformanceBudget() {
+        // Static utilities only
+    }
+
+    /**
+     * Returns whether this JVM can count the bytes allocated by a thread.
+     *
+     * @return true if allocation can be measured
+     */
+    static boolean canMeasureAllocation() {
+        return THREADS instanceof com.sun.management.ThreadMXBean
+                && ((com.sun.management.ThreadMXBean) THREADS).isThreadAllocatedMemorySupported()
+                && ((com.sun.management.ThreadMXBean) THREADS).isThreadAllocatedMemoryEnabled();
+    }
+
+    /**
+     * Returns the average number of bytes the calling thread allocates per call, after warmup.
+     *
+     * @param calls the number of measured calls
+     * @param call the code to measure
+     * @return the bytes allocated per call
+     * @throws UnsupportedOperationException if allocation cannot be measured
+     */
+    static double bytesPerCall(int calls, DoubleSupplier call) {
+        if (!canMeasureAllocation()) {
+            throw new UnsupportedOperationException("This JVM does not count per-thread allocation");
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) THREADS;
+        warmUp(call);
+        double result = 0;
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < calls; i++) {
+            result += call.getAsDouble();
+        }
+        long after = threads.getCurrentThreadAllocatedBytes();
+        sink = result;
+        return (double) (after - before) / calls;
+    }
+
+    /**
+     * Returns the time per call of the fastest of several timed rounds, after warmup.
+     *
+     * @param calls the number of calls per round
+     * @param call the code to measure
+     * @return nanoseconds per call
+     */
+    static double nanosPerCall(int calls, DoubleSupplier call) {
+        warmUp(call);
+        long best = Long.MAX_VALUE;
+        double result = 0;
+        for (int round = 0; round < TIMING_ROUNDS; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < calls; i++) {
+                result += call.getAsDouble();
+            }
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        sink = result;
+        return (double) best / calls;
+    }
+
+    /**
+     * Returns how many times faster one call is than another on this machine. A ratio between
+     * two paths is far more stable across machines than either time alone, so budgets are
+     * stated as ratios.
+     *
+     * @param calls the number of calls per timed round
+     * @param slow the reference code
+     * @param fast the code expected to be faster
+     * @return the time of slow divided by the time of fast
+     */
+    static double speedup(int calls, DoubleSupplier slow, DoubleSupplier fast) {
+        double slowNanos = nanosPerCall(calls, slow);
+        double fastNanos = nanosPerCall(calls, fast);
+        return slowNanos / fastNanos;
+    }
+
+    private static void warmUp(DoubleSupplier call) {
+        double result = 0;
+        for (int i = 0; i < WARMUP_CALLS; i++) {
+            result += call.getAsDouble();
+        }
+        sink = result;
+    }
+}
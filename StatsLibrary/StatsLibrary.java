@@ -1,5 +1,6 @@
 import java.math.BigInteger;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -29,6 +30,29 @@ public class StatsLibrary {
         return sum / a.size();
     }
 
+    /**
+     * Calculates the mean (average) of an array of integers without boxing.
+     * @param a an array of integers.
+     * @return the mean of the array as a double.
+     * @throws NullPointerException if the provided array is null.
+     */
+    public double findMean(int[] a) {
+        if (a == null) {
+            throw new NullPointerException("Input array cannot be null.");
+        }
+
+        if (a.length == 0) {
+            return 0.0;
+        }
+
+        long sum = 0;  // A long cannot overflow for fewer than 2^32 ints
+        for (int singleNum : a) {
+            sum += singleNum;
+        }
+
+        return (double) sum / a.length;
+    }
+
     /**
      * Finds the median of a list of integers.
      * If the list has an odd number of elements, the median is the middle element.
@@ -59,6 +83,33 @@ public class StatsLibrary {
         }
     }
 
+    /**
+     * Finds the median of an array of integers, as {@link #findMedian(ArrayList)} does.
+     * The array is copied before sorting, so the caller's order is kept.
+     * @param a an array of integers
+     * @return the median of the array as a double.
+     * @throws NullPointerException if the provided array is null.
+     */
+    public double findMedian(int[] a) {
+        if (a == null) {
+            throw new NullPointerException("Input array cannot be null.");
+        }
+
+        if (a.length == 0) {
+            return 0.0;
+        }
+
+        int[] sorted = a.clone();
+        Arrays.sort(sorted);
+        int n = sorted.length;
+
+        if (n % 2 != 0) {  // odd length
+            return sorted[n / 2];
+        } else {  // even length
+            return ((double) sorted[n / 2] + sorted[n / 2 - 1]) / 2.0;
+        }
+    }
+
     /**
      * Calculates the mode of an array of integers.
      * If multiple values have the same highest frequency, returns the smallest one.
@@ -91,6 +142,39 @@ public class StatsLibrary {
         return mode;
     }
 
+    /**
+     * Calculates the mode of an array of integers.
+     * If multiple values have the same highest frequency, returns the smallest one.
+     * Counts runs in a sorted copy instead of a map, so no values are boxed.
+     * @param a array of integers to find mode of
+     * @return The most frequent value in the array
+     * @throws IllegalArgumentException if the array is empty or null
+     */
+    public int findMode(int[] a) {
+        if (a == null || a.length == 0) {
+            throw new IllegalArgumentException("Array cannot be empty or null");
+        }
+
+        int[] sorted = a.clone();
+        Arrays.sort(sorted);
+
+        int mode = sorted[0];
+        int maxFrequency = 0;
+        int runStart = 0;
+        for (int i = 1; i <= sorted.length; i++) {
+            if (i == sorted.length || sorted[i] != sorted[runStart]) {
+                // Runs come in ascending order, so a tie keeps the smaller value
+                if (i - runStart > maxFrequency) {
+                    maxFrequency = i - runStart;
+                    mode = sorted[runStart];
+                }
+                runStart = i;
+            }
+        }
+
+        return mode;
+    }
+
     /**
      * Calculates the variance of a list of integers using population variance formula.
      * @param a an ArrayList of integers.
@@ -117,6 +201,32 @@ public class StatsLibrary {
         return sumSquaredDeviations / (a.size() - 1);  // Using n-1 for sample variance
     }
 
+    /**
+     * Calculates the sample variance of an array of integers.
+     * @param a an array of integers.
+     * @return the variance of the array as a double.
+     * @throws NullPointerException if the provided array is null.
+     */
+    public double findVariance(int[] a) {
+        if (a == null) {
+            throw new NullPointerException("Input array cannot be null.");
+        }
+
+        if (a.length < 2) {
+            return 0.0;
+        }
+
+        double mean = findMean(a);
+        double sumSquaredDeviations = 0.0;
+
+        for (int singleNum : a) {
+            double deviation = singleNum - mean;
+            sumSquaredDeviations += deviation * deviation;
+        }
+
+        return sumSquaredDeviations / (a.length - 1);  // Using n-1 for sample variance
+    }
+
     /**
      * Calculates the standard deviation of an array of integers.
      * Uses the sample standard deviation formula: σ = √[Σ(x - μ)² / (n-1)]
@@ -133,6 +243,21 @@ public class StatsLibrary {
         return Math.sqrt(findVariance(a));
     }
 
+    /**
+     * Calculates the sample standard deviation of an array of integers.
+     *
+     * @param a array of integers
+     * @return The standard deviation
+     * @throws IllegalArgumentException if the array is null or has fewer than two elements
+     */
+    public double standardDeviation(int[] a) {
+        if (a == null || a.length < 2) {
+            throw new IllegalArgumentException("Array must contain at least two values");
+        }
+
+        return Math.sqrt(findVariance(a));
+    }
+
     /**
      * Calculates combinations (n choose r), representing the number of ways to select r items 
      * from a set of n items where order doesn't matter. This is also known as the binomial
@@ -0,0 +1,86 @@
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
+import org.junit.Before;
+import org.junit.Test;
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+
+/**
+ * Budget tests for the hot paths of StatsLibrary: they fail when a primitive-array method starts
+ * allocating more than its budget, or when it loses its speed advantage over the boxed version.
+ * Budgets hold for JIT-compiled code on a HotSpot JVM; allocation tests are skipped where the
+ * JVM cannot count per-thread allocation.
+ */
+public class StatsLibraryPerformanceTest {
+    private static final int SIZE = 1000;
+    private static final int CALLS = 2000;
+
+    /** Bytes per call tolerated for measurement noise on top of a budget. */
+    private static final double SLACK_BYTES = 1.0;
+
+    /** Budget for a method that works on a sorted copy: the copy, with its 16-byte header. */
+    private static final double SORTED_COPY_BYTES = 16 + 4.0 * SIZE;
+
+    /**
+     * Minimum speedups of the primitive methods over the boxed ones, about half of measured.
+     * findMode has none: sorting dominates both versions, so its ratio is too close to 1.
+     */
+    private static final double MEAN_SPEEDUP = 2.0;
+    private static final double VARIANCE_SPEEDUP = 2.0;
+    private static final double MEDIAN_SPEEDUP = 2.0;
+
+    private StatsLibrary stats;
+    private int[] values;
+    private ArrayList<Integer> boxed;
+
+    @Before
+    public void setUp() {
+        stats = new StatsLibrary();
+        SplittableRandom rand = new SplittableRandom(42);
+        values = new int[SIZE];
+        boxed = new ArrayList<>();
+        for (int i = 0; i < SIZE; i++) {
+            values[i] = rand.nextInt(1000);
+            boxed.add(values[i]);
+        }
+    }
+
+    @Test
+    public void testFindMeanDoesNotAllocate() {
+        assumeTrue(PerformanceBudget.canMeasureAllocation());
+        double bytes = PerformanceBudget.bytesPerCall(CALLS, () -> stats.findMean(values));
+        assertTrue("findMean(int[]) should not allocate, allocated " + bytes + " bytes per call", bytes <= SLACK_BYTES);
+    }
+
+    @Test
+    public void testFindVarianceDoesNotAllocate() {
+        assumeTrue(PerformanceBudget.canMeasureAllocation());
+        double bytes = PerformanceBudget.bytesPerCall(CALLS, () -> stats.findVariance(values));
+        assertTrue("findVariance(int[]) should not allocate, allocated " + bytes + " bytes per call", bytes <= SLACK_BYTES);
+        bytes = PerformanceBudget.bytesPerCall(CALLS, () -> stats.standardDeviation(values));
+        assertTrue("standardDeviation(int[]) should not allocate, allocated " + bytes + " bytes per call", bytes <= SLACK_BYTES);
+    }
+
+    @Test
+    public void testSortingMethodsAllocateOneCopy() {
+        assumeTrue(PerformanceBudget.canMeasureAllocation());
+        double bytes = PerformanceBudget.bytesPerCall(CALLS, () -> stats.findMedian(values));
+        assertTrue("findMedian(int[]) should allocate only its sorted copy, allocated " + bytes + " bytes per call",
+                bytes <= SORTED_COPY_BYTES + SLACK_BYTES);
+        bytes = PerformanceBudget.bytesPerCall(CALLS, () -> stats.findMode(values));
+        assertTrue("findMode(int[]) should allocate only its sorted copy, allocated " + bytes + " bytes per call",
+                bytes <= SORTED_COPY_BYTES + SLACK_BYTES);
+    }
+
+    @Test
+    public void testPrimitiveMethodsOutrunBoxed() {
+        double speedup = PerformanceBudget.speedup(CALLS, () -> stats.findMean(boxed), () -> stats.findMean(values));
+        assertTrue("findMean(int[]) should be " + MEAN_SPEEDUP + "x faster than boxed, was " + speedup + "x", speedup >= MEAN_SPEEDUP);
+
+        speedup = PerformanceBudget.speedup(CALLS, () -> stats.findVariance(boxed), () -> stats.findVariance(values));
+        assertTrue("findVariance(int[]) should be " + VARIANCE_SPEEDUP + "x faster than boxed, was " + speedup + "x", speedup >= VARIANCE_SPEEDUP);
+
+        speedup = PerformanceBudget.speedup(CALLS / 10, () -> stats.findMedian(boxed), () -> stats.findMedian(values));
+        assertTrue("findMedian(int[]) should be " + MEDIAN_SPEEDUP + "x faster than boxed, was " + speedup + "x", speedup >= MEDIAN_SPEEDUP);
+    }
+}
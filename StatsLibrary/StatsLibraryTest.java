@@ -32,7 +32,7 @@ public class StatsLibraryTest {
     @Test
     public void testFindMeanNull() {
         try {
-            stats.findMean(null);
+            stats.findMean((ArrayList<Integer>) null);
             fail("Should have thrown NullPointerException");
         } catch (NullPointerException e) {
             // Test passed
@@ -100,6 +100,25 @@ public class StatsLibraryTest {
         assertEquals("StdDev should be calculated correctly", 2.13, stats.standardDeviation(testList), 0.01);
     }
     
+    @Test
+    public void testPrimitiveArrays() {
+        int[] values = {2, 4, 4, 4, 5, 5, 7, 9};
+        testList.addAll(Arrays.asList(2, 4, 4, 4, 5, 5, 7, 9));
+        assertEquals("Primitive mean should match boxed mean", stats.findMean(testList), stats.findMean(values), 0.001);
+        assertEquals("Primitive median should match boxed median", stats.findMedian(testList), stats.findMedian(values), 0.001);
+        assertEquals("Primitive mode should match boxed mode", stats.findMode(testList), stats.findMode(values));
+        assertEquals("Primitive variance should match boxed variance", stats.findVariance(testList), stats.findVariance(values), 0.001);
+        assertEquals("Primitive StdDev should match boxed StdDev", stats.standardDeviation(testList), stats.standardDeviation(values), 0.001);
+
+        // Ties go to the smallest value, and the input order is left alone
+        int[] tied = {3, 1, 3, 1, 2};
+        assertEquals("Mode of [3,1,3,1,2] should be 1", 1, stats.findMode(tied));
+        assertEquals("Median of [3,1,3,1,2] should be 2", 2.0, stats.findMedian(tied), 0.001);
+        assertArrayEquals("Input should not be sorted in place", new int[] {3, 1, 3, 1, 2}, tied);
+
+        assertEquals("Mean of empty array should be 0", 0.0, stats.findMean(new int[0]), 0.001);
+    }
+    
     @Test
     public void testCombinationSolver() {
         assertEquals("C(5,3) should be 10", 10.0, stats.combinationSolver(5, 3), 0.001);
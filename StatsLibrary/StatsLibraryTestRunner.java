@@ -6,7 +6,7 @@ public class StatsLibraryTestRunner {
     public static void main(String[] args) {
         System.out.println("Running StatsLibrary Tests...\n");
         
-        Result result = JUnitCore.runClasses(StatsLibraryTest.class);
+        Result result = JUnitCore.runClasses(StatsLibraryTest.class, StatsLibraryPerformanceTest.class);
         
         // Print summary header
         System.out.println("=== Test Execution Summary ===");